@@ -0,0 +1,104 @@
+package org.example.mentorship.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.security.AuthenticatedUserCache;
+import org.example.mentorship.security.CustomUserDetails;
+import org.example.mentorship.security.JwtAuthenticationMode;
+import org.example.mentorship.security.JwtAuthenticator;
+import org.example.mentorship.security.JwtTokenUtils;
+import org.example.mentorship.security.RevokedTokenRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-message authentication cost of a chat send: REST parses and checks the bearer token on every request,
+// STOMP only restores the user authenticated at CONNECT. Network and persistence are the same for both
+// and left out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatTransportBenchmark {
+
+    private static final String PAYLOAD = "{\"chatId\":7,\"content\":\"Hello, see you at 6 pm\"}";
+
+    private String token;
+    private JwtTokenUtils jwtTokenUtils;
+    private JwtAuthenticator jwtAuthenticator;
+    private StompAuthenticationInterceptor interceptor;
+    private Message<byte[]> stompSend;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtils = new JwtTokenUtils();
+        ReflectionTestUtils.setField(jwtTokenUtils, "secret",
+                Base64.getEncoder().encodeToString("benchmark-secret-key-benchmark-secret-key".getBytes()));
+        ReflectionTestUtils.setField(jwtTokenUtils, "jwtLifetime", Duration.ofHours(1));
+        jwtTokenUtils.init();
+
+        Role role = new Role();
+        role.setRoleName("ROLE_STUDENT");
+        User user = new User();
+        user.setId(1);
+        user.setEmail("student@example.org");
+        user.setRole(role);
+        user.setEmailVerified(true);
+        token = jwtTokenUtils.generateToken(new CustomUserDetails(user));
+
+        // Claims mode, the cheapest REST configuration: no user lookup, only the deny-list
+        AuthenticatedUserCache userCache = new AuthenticatedUserCache(null, new SimpleMeterRegistry(), 1,
+                Duration.ofMinutes(1));
+        RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(Duration.ofHours(1));
+        jwtAuthenticator = new JwtAuthenticator(jwtTokenUtils, userCache, revokedTokenRegistry,
+                JwtAuthenticationMode.CLAIMS);
+        interceptor = new StompAuthenticationInterceptor(jwtTokenUtils, jwtAuthenticator, revokedTokenRegistry);
+
+        // The session as CONNECT leaves it, SEND then checks the stored expiry and the deny-list
+        Map<String, Object> sessionAttributes = new HashMap<>();
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setNativeHeader("Authorization", "Bearer " + token);
+        connect.setSessionAttributes(sessionAttributes);
+        connect.setLeaveMutable(true);
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), null);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/chat.send");
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setUser(jwtAuthenticator.authenticate(jwtTokenUtils.parseClaims(token)));
+        stompSend = MessageBuilder.createMessage(PAYLOAD.getBytes(), accessor.getMessageHeaders());
+    }
+
+    // What JwtRequestFilter does for every POST /api/chat/send
+    @Benchmark
+    public Object rest() {
+        UsernamePasswordAuthenticationToken authentication =
+                jwtAuthenticator.authenticate(jwtTokenUtils.parseClaims(token));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    // What the inbound channel does for every SEND on an authenticated session
+    @Benchmark
+    public Object stomp() {
+        Message<?> message = interceptor.preSend(stompSend, null);
+        interceptor.beforeHandle(message, null, null);
+        interceptor.afterMessageHandled(message, null, null, null);
+        return message;
+    }
+}
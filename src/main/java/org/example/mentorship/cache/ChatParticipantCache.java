@@ -0,0 +1,41 @@
+package org.example.mentorship.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.mentorship.dto.ChatParticipantsDto;
+import org.example.mentorship.repository.ChatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Optional;
+
+// Users of the student and mentor of a chat; participants never change, so entries only expire
+@Component
+public class ChatParticipantCache {
+
+    private final ChatRepository chatRepository;
+    private final Cache<Integer, ChatParticipantsDto> cache;
+
+    @Autowired
+    public ChatParticipantCache(ChatRepository chatRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.chat-participants.max-size}") long maxSize,
+                                @Value("${app.cache.chat-participants.ttl}") Duration ttl) {
+        this.chatRepository = chatRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "chatParticipants");
+    }
+
+    // Empty for a missing chat; misses are not cached
+    public Optional<ChatParticipantsDto> get(Integer chatId) {
+        return Optional.ofNullable(cache.get(chatId, key -> chatRepository.findParticipants(key).orElse(null)));
+    }
+}
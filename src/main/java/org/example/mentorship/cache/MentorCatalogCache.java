@@ -0,0 +1,86 @@
+package org.example.mentorship.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Public catalog pages, shared by all guests. Any committed catalog change starts a new version.
+// ETags are a hash of the page content, so every instance gives the same page the same ETag
+@Component
+public class MentorCatalogCache {
+
+    private final Cache<VersionedKey, CatalogPage> cache;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public MentorCatalogCache(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                              @Value("${app.cache.mentor-catalog.max-size}") long maxSize,
+                              @Value("${app.cache.mentor-catalog.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mentorCatalog");
+    }
+
+    // A page computed while a change commits is stored under the old version and never served again
+    public CatalogPage get(MentorSearchKey key, Supplier<CatalogPage> loader) {
+        long currentVersion = version.get();
+        return cache.get(new VersionedKey(currentVersion, key), versionedKey -> {
+            CatalogPage page = loader.get();
+            return new CatalogPage(page.mentors(), page.total(), etag(page));
+        });
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(MentorCatalogChangedEvent event) {
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // Hash of the response body and the total header, as serialized for the client
+    private String etag(CatalogPage page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(objectMapper.writeValueAsBytes(page.mentors()));
+            digest.update(String.valueOf(page.total()).getBytes());
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new RuntimeException("Failed to compute catalog ETag", e);
+        }
+    }
+
+    // total is null when it was not requested
+    public record CatalogPage(List<MentorAllDataDto> mentors, Long total, String etag) {
+
+        public CatalogPage(List<MentorAllDataDto> mentors, Long total) {
+            this(List.copyOf(mentors), total, null);
+        }
+    }
+
+    private record VersionedKey(long version, MentorSearchKey key) {}
+}
@@ -0,0 +1,45 @@
+package org.example.mentorship.cache;
+
+import org.example.mentorship.dto.MentorSearchRequest;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.springframework.data.domain.Sort;
+import java.math.BigDecimal;
+
+// Normalized catalog request: requests that select the same page in the same order are equal
+public record MentorSearchKey(
+        String query,
+        String specialization,
+        BigDecimal minRate,
+        BigDecimal maxRate,
+        Integer minExperience,
+        BigDecimal minRating,
+        boolean byRelevance,
+        String sort,
+        int offset,
+        int limit,
+        boolean includeTotal
+) {
+
+    public static MentorSearchKey of(MentorSearchRequest filters, boolean byRelevance, Sort sort,
+                                     int offset, int limit, boolean includeTotal) {
+        String specialization = filters.getSpecialization();
+        return new MentorSearchKey(
+                // Matching only depends on the words of the query
+                String.join(" ", MentorSpecifications.words(filters.getQuery())),
+                specialization == null || specialization.isEmpty() ? null : specialization.toLowerCase(),
+                normalize(filters.getMinRate()),
+                normalize(filters.getMaxRate()),
+                filters.getMinExperience(),
+                normalize(filters.getMinRating()),
+                byRelevance,
+                sort.toString(),
+                offset,
+                limit,
+                includeTotal);
+    }
+
+    // 50, 50.0 and 50.00 are the same bound
+    private static BigDecimal normalize(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.mentorship.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.mentorship.dto.ProfileSummaryDto;
+import org.example.mentorship.repository.ProfileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+// Name and picture of a user, as shown next to chat messages
+@Component
+public class ProfileSummaryCache {
+
+    private final ProfileRepository profileRepository;
+    private final Cache<Integer, ProfileSummaryDto> cache;
+
+    @Autowired
+    public ProfileSummaryCache(ProfileRepository profileRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.cache.profile-summary.max-size}") long maxSize,
+                               @Value("${app.cache.profile-summary.ttl}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Exposes hit, miss and eviction counters as cache.* metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profileSummaries");
+    }
+
+    public ProfileSummaryDto get(Integer userId) {
+        return cache.get(userId, this::load);
+    }
+
+    // Evicts once the surrounding transaction commits, so a concurrent read can't cache the old profile again
+    public void evict(Integer userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    private ProfileSummaryDto load(Integer userId) {
+        return profileRepository.findByUserId(userId)
+                .map(profile -> new ProfileSummaryDto(
+                        userId,
+                        profile.getFirstName() + " " + profile.getLastName(),
+                        profile.getProfilePictureUrl()))
+                .orElse(new ProfileSummaryDto(userId, "User", ""));
+    }
+}
@@ -1,34 +1,113 @@
 package org.example.mentorship.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig implements WebMvcConfigurer {
 
+    private static final String EXECUTOR_NAME = "securityAwareAsyncExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.async.executor-type}")
+    private AsyncExecutorType executorType;
+
+    @Value("${app.async.pool.core-size}")
+    private int corePoolSize;
+
+    @Value("${app.async.pool.max-size}")
+    private int maxPoolSize;
+
+    @Value("${app.async.pool.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${app.async.pool.rejection-policy}")
+    private AsyncRejectionPolicy rejectionPolicy;
+
+    @Autowired
+    public AsyncConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
         configurer.setDefaultTimeout(30000);
         configurer.setTaskExecutor(asyncTaskExecutor());
     }
 
-    @Bean(name = "securityAwareAsyncExecutor")
+    @Bean(name = EXECUTOR_NAME)
     public AsyncTaskExecutor asyncTaskExecutor() {
+        AsyncTaskExecutor executor = executorType == AsyncExecutorType.VIRTUAL
+                ? virtualThreadExecutor()
+                : platformThreadExecutor();
+
+        return new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    private AsyncTaskExecutor platformThreadExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("Async-");
+        executor.setTaskDecorator(timingDecorator());
+        if (rejectionPolicy == AsyncRejectionPolicy.CALLER_RUNS) {
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        }
         executor.initialize();
 
-        return new DelegatingSecurityContextAsyncTaskExecutor(executor);
+        // Active threads, pool size, queued and completed tasks as executor.* metrics
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), EXECUTOR_NAME, Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
+
+    private AsyncTaskExecutor virtualThreadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Async-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(timingDecorator());
+        return executor;
+    }
+
+    // Records how long a task waited for a thread and how long it ran
+    private TaskDecorator timingDecorator() {
+        Timer waitTimer = Timer.builder("app.async.task.wait")
+                .tag("name", EXECUTOR_NAME)
+                .register(meterRegistry);
+        Timer executionTimer = Timer.builder("app.async.task.execution")
+                .tag("name", EXECUTOR_NAME)
+                .register(meterRegistry);
+
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
     }
 
 }
@@ -0,0 +1,8 @@
+package org.example.mentorship.config;
+
+public enum AsyncExecutorType {
+    // Bounded ThreadPoolTaskExecutor
+    PLATFORM,
+    // New virtual thread per task; blocking JDBC and BCrypt calls don't tie up carrier threads
+    VIRTUAL
+}
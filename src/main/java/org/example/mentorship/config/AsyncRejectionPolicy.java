@@ -0,0 +1,8 @@
+package org.example.mentorship.config;
+
+public enum AsyncRejectionPolicy {
+    // Reject the request with 503 and Retry-After once the pool and queue are full
+    ABORT,
+    // Run the task on the submitting servlet thread instead (slows intake down)
+    CALLER_RUNS
+}
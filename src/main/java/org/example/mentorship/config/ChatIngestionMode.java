@@ -0,0 +1,8 @@
+package org.example.mentorship.config;
+
+public enum ChatIngestionMode {
+    // Every message is written in its own transaction by the request
+    DIRECT,
+    // Messages are queued and written by ChatMessageIngestor in micro-batches, one transaction per batch
+    BATCHED
+}
@@ -0,0 +1,30 @@
+package org.example.mentorship.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// PostgreSQL full-text functions for JPQL/Criteria, registered via META-INF/services.
+// The query is cast, not parsed by to_tsquery: its words are already split like the search document (V15),
+// and the parser would turn "c++" into "c"
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FTS_MATCH = "fts_match";
+    public static final String FTS_RANK = "fts_rank";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        // fts_match(vector, tsquery text) -> boolean
+        registry.registerPattern(FTS_MATCH, "(?1 @@ CAST(?2 AS tsquery))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+
+        // fts_rank(vector, tsquery text) -> real
+        registry.registerPattern(FTS_RANK, "ts_rank(?1, CAST(?2 AS tsquery))",
+                types.resolve(StandardBasicTypes.FLOAT));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.mentorship.config;
+
+public enum WebSocketBrokerMode {
+    // In-memory broker; subscriptions live in this JVM, so only a single instance is supported
+    SIMPLE,
+    // External STOMP broker (RabbitMQ, ActiveMQ) shared by all instances
+    RELAY
+}
@@ -1,7 +1,12 @@
 package org.example.mentorship.config;
 
+import org.example.mentorship.websocket.StompAuthenticationInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -10,10 +15,58 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthenticationInterceptor authenticationInterceptor;
+
+    @Value("${app.websocket.broker}")
+    private WebSocketBrokerMode brokerMode;
+
+    @Value("${app.websocket.relay.host}")
+    private String relayHost;
+
+    @Value("${app.websocket.relay.port}")
+    private int relayPort;
+
+    @Value("${app.websocket.relay.virtual-host}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.relay.client-login}")
+    private String relayClientLogin;
+
+    @Value("${app.websocket.relay.client-passcode}")
+    private String relayClientPasscode;
+
+    @Value("${app.websocket.relay.system-login}")
+    private String relaySystemLogin;
+
+    @Value("${app.websocket.relay.system-passcode}")
+    private String relaySystemPasscode;
+
+    @Autowired
+    public WebSocketConfig(StompAuthenticationInterceptor authenticationInterceptor) {
+        this.authenticationInterceptor = authenticationInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // Prefix for destination addresses (where clients subscribe)
-        registry.enableSimpleBroker("/topic", "/queue");
+        if (brokerMode == WebSocketBrokerMode.RELAY) {
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    // An instance that has no session of the target user passes /user messages to the others
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    // Instances share which users are connected where
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
 
         // Prefix for controller addresses
         registry.setApplicationDestinationPrefixes("/app");
@@ -29,4 +82,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins("http://localhost:4200")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // JWT check on CONNECT, session user as the current user in @MessageMapping handlers
+        registration.interceptors(authenticationInterceptor);
+    }
 }
@@ -39,7 +39,7 @@ public class AuthController {
             } catch (BadCredentialsException e) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
             }
-        });
+        }, executor);
     }
 
     @PostMapping("/register")
@@ -54,7 +54,7 @@ public class AuthController {
             } catch (Exception e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
             }
-        });
+        }, executor);
     }
 
 
@@ -1,6 +1,7 @@
 package org.example.mentorship.controller;
 
 import org.example.mentorship.dto.*;
+import org.example.mentorship.service.ChatMessageIngestor;
 import org.example.mentorship.service.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,13 +17,16 @@ public class ChatController {
 
     private final AsyncTaskExecutor executor;
     private final ChatService chatService;
+    private final ChatMessageIngestor messageIngestor;
 
     @Autowired
     public ChatController(
             @Qualifier("securityAwareAsyncExecutor") AsyncTaskExecutor executor,
-            ChatService chatService) {
+            ChatService chatService,
+            ChatMessageIngestor messageIngestor) {
         this.executor = executor;
         this.chatService = chatService;
+        this.messageIngestor = messageIngestor;
     }
 
     @GetMapping("/list")
@@ -41,16 +45,26 @@ public class ChatController {
         }, executor);
     }
 
+    // Without cursors returns the most recent page; "before"/"after" take a message id from a loaded page
     @GetMapping("/{chatId}/messages")
-    public CompletableFuture<ResponseEntity<List<ChatMessageDto>>> getChatMessages(@PathVariable Integer chatId) {
+    public CompletableFuture<ResponseEntity<List<ChatMessageDto>>> getChatMessages(
+            @PathVariable Integer chatId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size) {
         return CompletableFuture.supplyAsync(() -> {
-            List<ChatMessageDto> messages = chatService.getChatMessages(chatId);
+            List<ChatMessageDto> messages = chatService.getChatMessages(chatId, before, after, size);
             return ResponseEntity.ok(messages);
         }, executor);
     }
 
     @PostMapping("/send")
     public CompletableFuture<ResponseEntity<ChatMessageDto>> sendMessage(@RequestBody MessageRequest messageRequest) {
+        // In batched mode the future completes once the message's batch is committed
+        if (messageIngestor.isBatched()) {
+            return messageIngestor.submit(messageRequest).thenApply(ResponseEntity::ok);
+        }
+
         return CompletableFuture.supplyAsync(() -> {
             ChatMessageDto message = chatService.sendMessage(messageRequest);
             return ResponseEntity.ok(message);
@@ -0,0 +1,16 @@
+package org.example.mentorship.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import java.util.Map;
+
+// Invalid chat request parameters (e.g. a page cursor from another chat) are the client's fault
+@RestControllerAdvice(assignableTypes = ChatController.class)
+public class ChatExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.mentorship.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.dto.ChatMessageDto;
+import org.example.mentorship.dto.MessageRequest;
+import org.example.mentorship.security.AuthenticatedUser;
+import org.example.mentorship.security.CurrentUserProvider;
+import org.example.mentorship.service.ChatMessageIngestor;
+import org.example.mentorship.service.ChatService;
+import org.example.mentorship.websocket.TypingIndicatorCoalescer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Chat over the STOMP connection (/app prefix): the session is authenticated once at CONNECT,
+// so sends skip the per-request HTTP and JWT work of ChatController
+@Slf4j
+@Controller
+public class ChatStompController {
+
+    private final ChatService chatService;
+    private final ChatMessageIngestor messageIngestor;
+    private final TypingIndicatorCoalescer typingIndicatorCoalescer;
+    private final CurrentUserProvider currentUserProvider;
+
+    @Autowired
+    public ChatStompController(ChatService chatService,
+                               ChatMessageIngestor messageIngestor,
+                               TypingIndicatorCoalescer typingIndicatorCoalescer,
+                               CurrentUserProvider currentUserProvider) {
+        this.chatService = chatService;
+        this.messageIngestor = messageIngestor;
+        this.typingIndicatorCoalescer = typingIndicatorCoalescer;
+        this.currentUserProvider = currentUserProvider;
+    }
+
+    // The saved message goes back to the sender on /user/queue/chat.sent; everyone else gets it from /topic/chat/{id}
+    @MessageMapping("/chat.send")
+    @SendToUser(value = "/queue/chat.sent", broadcast = false)
+    public CompletableFuture<ChatMessageDto> sendMessage(@Payload MessageRequest messageRequest) {
+        if (messageIngestor.isBatched()) {
+            return messageIngestor.submit(messageRequest);
+        }
+        return CompletableFuture.completedFuture(chatService.sendMessage(messageRequest));
+    }
+
+    @MessageMapping("/chat/{chatId}/read")
+    public void markMessagesAsRead(@DestinationVariable Integer chatId) {
+        chatService.markMessagesAsRead(chatId);
+    }
+
+    // Sent on every keystroke; coalesced and never written to the database
+    @MessageMapping("/chat/{chatId}/typing")
+    public void notifyTyping(@DestinationVariable Integer chatId) {
+        AuthenticatedUser user = currentUserProvider.getCurrentPrincipal()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        typingIndicatorCoalescer.onTyping(chatId, user.id());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(value = "/queue/errors", broadcast = false)
+    public Map<String, String> handleException(RuntimeException e) {
+        log.debug("STOMP chat request failed: {}", e.getMessage());
+        return Map.of("message", e.getMessage() != null ? e.getMessage() : "Request failed");
+    }
+}
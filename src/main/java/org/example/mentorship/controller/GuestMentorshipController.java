@@ -1,11 +1,16 @@
 package org.example.mentorship.controller;
 
 import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorFacetsDto;
 import org.example.mentorship.dto.MentorSearchRequest;
 import org.example.mentorship.service.GuestMentorshipService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -14,25 +19,47 @@ import java.util.concurrent.CompletableFuture;
 @RequestMapping("/api/guest")
 public class GuestMentorshipController {
 
+    private final AsyncTaskExecutor executor;
     private final GuestMentorshipService guestMentorshipService;
 
     @Autowired
-    public GuestMentorshipController(GuestMentorshipService guestMentorshipService) {
+    public GuestMentorshipController(
+            @Qualifier("securityAwareAsyncExecutor") AsyncTaskExecutor executor,
+            GuestMentorshipService guestMentorshipService) {
+        this.executor = executor;
         this.guestMentorshipService = guestMentorshipService;
     }
 
 
     @GetMapping("/mentors")
-    public CompletableFuture<ResponseEntity<List<MentorAllDataDto>>> getAllMentors() {
+    public CompletableFuture<ResponseEntity<List<MentorAllDataDto>>> getAllMentors(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         return CompletableFuture.supplyAsync(
-                guestMentorshipService::getAllMentors);
+                () -> guestMentorshipService.getAllMentors(page, size, includeTotal, ifNoneMatch), executor);
     }
 
     @PostMapping("/mentors/search")
     public CompletableFuture<ResponseEntity<List<MentorAllDataDto>>> searchMentors(
             @RequestBody MentorSearchRequest searchRequest) {
         return CompletableFuture.supplyAsync(
-                () -> guestMentorshipService.searchMentors(searchRequest));
+                () -> guestMentorshipService.searchMentors(searchRequest), executor);
+    }
+
+    // Counts per specialization and hourly rate bucket for the filtered catalog
+    @GetMapping("/mentors/facets")
+    public CompletableFuture<ResponseEntity<MentorFacetsDto>> getMentorFacets(
+            @ModelAttribute MentorSearchRequest searchRequest) {
+        return CompletableFuture.supplyAsync(
+                () -> guestMentorshipService.getMentorFacets(searchRequest), executor);
+    }
+
+    // NDJSON: one mentor per line, filters are taken from query parameters
+    @GetMapping(value = "/mentors/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMentors(@ModelAttribute MentorSearchRequest searchRequest) {
+        return guestMentorshipService.streamMentors(searchRequest);
     }
 
 }
@@ -5,6 +5,8 @@ import org.example.mentorship.dto.ProfileDtoRequest;
 import org.example.mentorship.dto.StudentInfoDto;
 import org.example.mentorship.service.ProfileService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +18,14 @@ import java.util.concurrent.CompletableFuture;
 @RequestMapping("/api/profile")
 public class ProfileController {
 
+    private final AsyncTaskExecutor executor;
     private final ProfileService profileService;
 
     @Autowired
-    public ProfileController(ProfileService profileService) {
+    public ProfileController(
+            @Qualifier("securityAwareAsyncExecutor") AsyncTaskExecutor executor,
+            ProfileService profileService) {
+        this.executor = executor;
         this.profileService = profileService;
     }
 
@@ -42,6 +48,6 @@ public class ProfileController {
                 e.printStackTrace();
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error creating profile: " + e.getMessage());
             }
-        });
+        }, executor);
     }
 }
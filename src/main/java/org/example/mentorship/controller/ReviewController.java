@@ -30,9 +30,20 @@ public class ReviewController {
         return CompletableFuture.supplyAsync(() -> reviewService.createReview(reviewRequest), executor);
     }
 
+    // Without a cursor returns the newest page; "before" takes a review id from a loaded page
     @GetMapping("/mentor/{mentorId}")
-    public CompletableFuture<ResponseEntity<?>> getMentorReviews(@PathVariable Integer mentorId) {
-        return CompletableFuture.supplyAsync(() -> reviewService.getMentorReviews(mentorId), executor);
+    public CompletableFuture<ResponseEntity<?>> getMentorReviews(
+            @PathVariable Integer mentorId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer size) {
+        return CompletableFuture.supplyAsync(
+                () -> reviewService.getMentorReviews(mentorId, before, size),
+                executor);
+    }
+
+    @GetMapping("/mentor/{mentorId}/distribution")
+    public CompletableFuture<ResponseEntity<?>> getRatingDistribution(@PathVariable Integer mentorId) {
+        return CompletableFuture.supplyAsync(() -> reviewService.getRatingDistribution(mentorId), executor);
     }
 
     @PutMapping("/{reviewId}")
@@ -2,6 +2,8 @@ package org.example.mentorship.controller;
 
 import org.example.mentorship.service.EmailVerificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,10 +15,14 @@ import java.util.concurrent.CompletableFuture;
 @RequestMapping("/api/verification")
 public class VerificationController {
 
+    private final AsyncTaskExecutor executor;
     private final EmailVerificationService verificationService;
 
     @Autowired
-    public VerificationController(EmailVerificationService verificationService) {
+    public VerificationController(
+            @Qualifier("securityAwareAsyncExecutor") AsyncTaskExecutor executor,
+            EmailVerificationService verificationService) {
+        this.executor = executor;
         this.verificationService = verificationService;
     }
 
@@ -30,7 +36,7 @@ public class VerificationController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(Map.of("message", "Invalid or expired token"));
             }
-        });
+        }, executor);
     }
 
     @PostMapping("/resend")
@@ -42,6 +48,6 @@ public class VerificationController {
             } catch (Exception e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
             }
-        });
+        }, executor);
     }
 }
@@ -0,0 +1,12 @@
+package org.example.mentorship.dto;
+
+public record ChatParticipantsDto(
+        Integer chatId,
+        Integer studentUserId,
+        Integer mentorUserId
+) {
+
+    public boolean includes(Integer userId) {
+        return studentUserId.equals(userId) || mentorUserId.equals(userId);
+    }
+}
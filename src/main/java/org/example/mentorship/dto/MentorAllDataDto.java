@@ -13,5 +13,18 @@ public record MentorAllDataDto(
         String specialization,
         Integer experienceYears,
         BigDecimal averageRating,
-        String mentorTargetStudents
-) {}
+        String mentorTargetStudents,
+        RatingDistributionDto ratingDistribution
+) {
+
+    // Flat form for query constructor expressions, which cannot build the nested record
+    public MentorAllDataDto(Integer mentorId, String profilePictureUrl, String firstName, String lastName,
+                            String bio, Integer age, BigDecimal hourlyRate, String specialization,
+                            Integer experienceYears, BigDecimal averageRating, String mentorTargetStudents,
+                            Integer oneStar, Integer twoStars, Integer threeStars, Integer fourStars,
+                            Integer fiveStars) {
+        this(mentorId, profilePictureUrl, firstName, lastName, bio, age, hourlyRate, specialization,
+                experienceYears, averageRating, mentorTargetStudents,
+                new RatingDistributionDto(oneStar, twoStars, threeStars, fourStars, fiveStars));
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.mentorship.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record MentorFacetsDto(
+        long total,
+        Map<String, Long> specializations,
+        List<RateBucket> hourlyRates
+) {
+    // Mentors with from <= hourlyRate < to, an open upper bound is null
+    public record RateBucket(BigDecimal from, BigDecimal to, long count) {}
+}
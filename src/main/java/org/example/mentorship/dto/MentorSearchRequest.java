@@ -14,6 +14,11 @@ public class MentorSearchRequest {
     private BigDecimal maxRate;
     private Integer minExperience;
     private BigDecimal minRating;
+    // One of MentorSortKey: averageRating, hourlyRate, experienceYears, ranking or relevance (ranks matches of the query)
     private String sortBy = "averageRating";
     private String sortDirection = "DESC";
+    // Pagination is applied only when size is set, otherwise the whole result is returned
+    private Integer page;
+    private Integer size;
+    private boolean includeTotal = false;
 }
\ No newline at end of file
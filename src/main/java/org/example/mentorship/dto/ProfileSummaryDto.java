@@ -0,0 +1,7 @@
+package org.example.mentorship.dto;
+
+public record ProfileSummaryDto(
+        Integer userId,
+        String fullName,
+        String profilePictureUrl
+) {}
@@ -0,0 +1,10 @@
+package org.example.mentorship.dto;
+
+// Number of reviews per star rating
+public record RatingDistributionDto(
+        Integer oneStar,
+        Integer twoStars,
+        Integer threeStars,
+        Integer fourStars,
+        Integer fiveStars
+) {}
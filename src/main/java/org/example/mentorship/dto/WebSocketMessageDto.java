@@ -8,6 +8,6 @@ public record WebSocketMessageDto(
         Integer senderId,
         String senderName,
         String content,
-        LocalDateTime sentAt,
-        Integer messageId
+        LocalDateTime sentAt, // for READ: sent time of the watermark message
+        Integer messageId // for READ: the last message read (watermark), in (sentAt, messageId) order
 ) {}
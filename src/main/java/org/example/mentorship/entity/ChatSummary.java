@@ -0,0 +1,32 @@
+package org.example.mentorship.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chat_summaries")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatSummary {
+    @Id
+    @Column(name = "id_chat")
+    private Integer chatId;
+
+    @Column(name = "id_last_message")
+    private Integer lastMessageId;
+
+    @Column(name = "last_message_content")
+    private String lastMessageContent;
+
+    @Column(name = "last_message_sent_at")
+    private LocalDateTime lastMessageSentAt;
+
+    @Column(name = "student_unread_count", nullable = false)
+    private int studentUnreadCount = 0;
+
+    @Column(name = "mentor_unread_count", nullable = false)
+    private int mentorUnreadCount = 0;
+}
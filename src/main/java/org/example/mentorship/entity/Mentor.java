@@ -31,9 +31,31 @@ public class Mentor {
     @Column(name = "experience_years")
     private Integer experienceYears;
 
-    @Column(name = "average_rating")
+    // Derived from review_count and rating_sum, updated only by MentorRepository.applyReviewDelta
+    @Column(name = "average_rating", updatable = false)
     private BigDecimal averageRating;
 
+    @Column(name = "review_count", insertable = false, updatable = false)
+    private Integer reviewCount;
+
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Integer ratingSum;
+
+    @Column(name = "rating_1_count", insertable = false, updatable = false)
+    private Integer rating1Count;
+
+    @Column(name = "rating_2_count", insertable = false, updatable = false)
+    private Integer rating2Count;
+
+    @Column(name = "rating_3_count", insertable = false, updatable = false)
+    private Integer rating3Count;
+
+    @Column(name = "rating_4_count", insertable = false, updatable = false)
+    private Integer rating4Count;
+
+    @Column(name = "rating_5_count", insertable = false, updatable = false)
+    private Integer rating5Count;
+
     @Column(name = "mentor_target_students")
     private String mentorTargetStudents;
 
@@ -42,4 +64,12 @@ public class Mentor {
 
     @Column(name = "subscription_expiry_date")
     private LocalDateTime subscriptionExpiryDate;
+
+    // Precomputed ranking, written only by MentorRepository.refreshSearchScore
+    @Column(name = "search_score", insertable = false, updatable = false)
+    private Double searchScore;
+
+    // tsvector maintained by database triggers (see V8 migration), only used in search predicates
+    @Column(name = "search_vector", insertable = false, updatable = false)
+    private String searchVector;
 }
@@ -30,6 +30,6 @@ public class Review {
     @Column(name = "review_rating", nullable = false)
     private Integer rating;
 
-    @Column(name = "review_created_at")
+    @Column(name = "review_created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -0,0 +1,8 @@
+package org.example.mentorship.event;
+
+import org.example.mentorship.dto.WebSocketMessageDto;
+import java.util.List;
+
+// Published when a chat message is saved or messages are marked as read; broadcast to /topic/chat/{id}
+// and to the recipients' /user/queue/chats once the transaction commits
+public record ChatMessageCommittedEvent(WebSocketMessageDto message, List<String> recipients) {}
@@ -0,0 +1,5 @@
+package org.example.mentorship.event;
+
+// Published when anything shown in the public mentor catalog changes (mentor fields, profile, rating, deletion).
+// A null mentorId means several mentors changed at once
+public record MentorCatalogChangedEvent(Integer mentorId) {}
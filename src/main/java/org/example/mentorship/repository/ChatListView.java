@@ -0,0 +1,20 @@
+package org.example.mentorship.repository;
+
+import java.time.LocalDateTime;
+
+// Read model for a single row of the chat list, filled by one native query
+public interface ChatListView {
+    Integer getChatId();
+    Integer getStudentId();
+    String getStudentFirstName();
+    String getStudentLastName();
+    String getStudentPictureUrl();
+    Integer getMentorId();
+    String getMentorFirstName();
+    String getMentorLastName();
+    String getMentorPictureUrl();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getLastMessageTime();
+    String getLastMessageContent();
+    Long getUnreadCount();
+}
@@ -2,9 +2,69 @@ package org.example.mentorship.repository;
 
 import org.example.mentorship.entity.ChatMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Integer> {
     List<ChatMessage> findByChatIdOrderBySentAtAsc(Integer chatId);
+
+    boolean existsByIdAndChatId(Integer id, Integer chatId);
+
+    // Newest unread message from the other participant in (message_sent_at, id_chat_message) order,
+    // the same order the keyset pages use. Ids alone don't follow commit order with a pooled sequence
+    @Query("SELECT m FROM ChatMessage m WHERE m.chat.id = :chatId AND m.sender.id <> :userId AND m.read = false " +
+            "ORDER BY m.sentAt DESC, m.id DESC LIMIT 1")
+    Optional<ChatMessage> findNewestUnreadIncoming(@Param("chatId") Integer chatId, @Param("userId") Integer userId);
+
+    // Marks what the other participant sent up to and including the watermark as read in one statement,
+    // so the announced watermark covers exactly the updated rows
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.read = true " +
+            "WHERE m.chat.id = :chatId AND m.sender.id <> :userId AND m.read = false " +
+            "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id <= :messageId))")
+    int markAsReadUpTo(@Param("chatId") Integer chatId,
+                       @Param("userId") Integer userId,
+                       @Param("sentAt") LocalDateTime sentAt,
+                       @Param("messageId") Integer messageId);
+
+    // Keyset pages over (id_chat, message_sent_at, id_chat_message), newest first.
+    // An unknown cursor or one from another chat gives an empty page, check it with existsByIdAndChatId first
+    @Query(value = """
+            SELECT * FROM chat_messages
+            WHERE id_chat = :chatId
+            ORDER BY message_sent_at DESC, id_chat_message DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChatMessage> findLatestPage(@Param("chatId") Integer chatId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM chat_messages
+            WHERE id_chat = :chatId
+              AND (message_sent_at, id_chat_message) < (
+                  SELECT c.message_sent_at, c.id_chat_message FROM chat_messages c
+                  WHERE c.id_chat_message = :cursorId AND c.id_chat = :chatId)
+            ORDER BY message_sent_at DESC, id_chat_message DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChatMessage> findPageBefore(@Param("chatId") Integer chatId,
+                                     @Param("cursorId") Integer cursorId,
+                                     @Param("limit") int limit);
+
+    // Oldest first, so the page directly continues after the cursor
+    @Query(value = """
+            SELECT * FROM chat_messages
+            WHERE id_chat = :chatId
+              AND (message_sent_at, id_chat_message) > (
+                  SELECT c.message_sent_at, c.id_chat_message FROM chat_messages c
+                  WHERE c.id_chat_message = :cursorId AND c.id_chat = :chatId)
+            ORDER BY message_sent_at ASC, id_chat_message ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChatMessage> findPageAfter(@Param("chatId") Integer chatId,
+                                    @Param("cursorId") Integer cursorId,
+                                    @Param("limit") int limit);
 }
@@ -1,12 +1,61 @@
 package org.example.mentorship.repository;
 
+import org.example.mentorship.dto.ChatParticipantsDto;
 import org.example.mentorship.entity.Chat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChatRepository extends JpaRepository<Chat, Integer> {
+
+    // Participants and the denormalized summary of every chat in one statement
+    String CHAT_LIST_COLUMNS = """
+            SELECT c.id_chat AS chatId,
+                   c.id_student AS studentId,
+                   sp.first_name AS studentFirstName,
+                   sp.last_name AS studentLastName,
+                   sp.profile_picture_url AS studentPictureUrl,
+                   c.id_mentor AS mentorId,
+                   mp.first_name AS mentorFirstName,
+                   mp.last_name AS mentorLastName,
+                   mp.profile_picture_url AS mentorPictureUrl,
+                   c.chat_created_at AS createdAt,
+                   cs.last_message_sent_at AS lastMessageTime,
+                   cs.last_message_content AS lastMessageContent,
+            """;
+
+    String CHAT_LIST_FROM = """
+            FROM chats c
+            JOIN students s ON s.id_student = c.id_student
+            JOIN mentors m ON m.id_mentor = c.id_mentor
+            LEFT JOIN profiles sp ON sp.id_user = s.id_user
+            LEFT JOIN profiles mp ON mp.id_user = m.id_user
+            LEFT JOIN chat_summaries cs ON cs.id_chat = c.id_chat
+            """;
+
+    String CHAT_LIST_ORDER = " ORDER BY COALESCE(cs.last_message_sent_at, c.chat_created_at) DESC";
+
+    // Chats with both participants' users, for checking access to many chats at once
+    @Query("SELECT c FROM Chat c JOIN FETCH c.student s JOIN FETCH s.user "
+            + "JOIN FETCH c.mentor m JOIN FETCH m.user WHERE c.id IN :chatIds")
+    List<Chat> findWithParticipantsByIdIn(@Param("chatIds") Collection<Integer> chatIds);
+
+    @Query("SELECT new org.example.mentorship.dto.ChatParticipantsDto(c.id, c.student.user.id, c.mentor.user.id) "
+            + "FROM Chat c WHERE c.id = :chatId")
+    Optional<ChatParticipantsDto> findParticipants(@Param("chatId") Integer chatId);
+
     List<Chat> findByStudentId(Integer studentId);
     List<Chat> findByMentorId(Integer mentorId);
     Optional<Chat> findByStudentIdAndMentorId(Integer studentId, Integer mentorId);
+
+    @Query(value = CHAT_LIST_COLUMNS + " COALESCE(cs.student_unread_count, 0) AS unreadCount "
+            + CHAT_LIST_FROM + " WHERE c.id_student = :studentId" + CHAT_LIST_ORDER, nativeQuery = true)
+    List<ChatListView> findChatListByStudentId(@Param("studentId") Integer studentId);
+
+    @Query(value = CHAT_LIST_COLUMNS + " COALESCE(cs.mentor_unread_count, 0) AS unreadCount "
+            + CHAT_LIST_FROM + " WHERE c.id_mentor = :mentorId" + CHAT_LIST_ORDER, nativeQuery = true)
+    List<ChatListView> findChatListByMentorId(@Param("mentorId") Integer mentorId);
 }
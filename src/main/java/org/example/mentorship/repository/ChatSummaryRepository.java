@@ -0,0 +1,134 @@
+package org.example.mentorship.repository;
+
+import org.example.mentorship.entity.ChatSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChatSummaryRepository extends JpaRepository<ChatSummary, Integer> {
+
+    // Summary of every chat computed from chat_messages (source of truth)
+    String SUMMARY_SOURCE = """
+            SELECT c.id_chat AS id_chat,
+                   lm.id_chat_message AS id_last_message,
+                   lm.message_content AS last_message_content,
+                   lm.message_sent_at AS last_message_sent_at,
+                   COALESCE(u.student_unread, 0) AS student_unread_count,
+                   COALESCE(u.mentor_unread, 0) AS mentor_unread_count
+            FROM chats c
+            JOIN students s ON s.id_student = c.id_student
+            JOIN mentors m ON m.id_mentor = c.id_mentor
+            LEFT JOIN LATERAL (
+                SELECT cm.id_chat_message, cm.message_content, cm.message_sent_at
+                FROM chat_messages cm
+                WHERE cm.id_chat = c.id_chat
+                ORDER BY cm.message_sent_at DESC, cm.id_chat_message DESC
+                LIMIT 1
+            ) lm ON true
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) FILTER (WHERE cm.id_sender <> s.id_user) AS student_unread,
+                       COUNT(*) FILTER (WHERE cm.id_sender <> m.id_user) AS mentor_unread
+                FROM chat_messages cm
+                WHERE cm.id_chat = c.id_chat AND cm.is_read = false
+            ) u ON true
+            """;
+
+    String SUMMARY_UPSERT = """
+            INSERT INTO chat_summaries (id_chat, id_last_message, last_message_content, last_message_sent_at,
+                                        student_unread_count, mentor_unread_count)
+            """;
+
+    String SUMMARY_OVERWRITE = """
+             ON CONFLICT (id_chat) DO UPDATE SET
+                id_last_message = EXCLUDED.id_last_message,
+                last_message_content = EXCLUDED.last_message_content,
+                last_message_sent_at = EXCLUDED.last_message_sent_at,
+                student_unread_count = EXCLUDED.student_unread_count,
+                mentor_unread_count = EXCLUDED.mentor_unread_count
+            """;
+
+    @Modifying
+    @Query(value = "INSERT INTO chat_summaries (id_chat) VALUES (:chatId) ON CONFLICT (id_chat) DO NOTHING",
+            nativeQuery = true)
+    void createIfMissing(@Param("chatId") Integer chatId);
+
+    // Moves the last message forward (never backwards) and adds the unread increments atomically
+    @Modifying
+    @Query(value = SUMMARY_UPSERT + """
+            VALUES (:chatId, :messageId, :content, :sentAt, :studentUnread, :mentorUnread)
+            ON CONFLICT (id_chat) DO UPDATE SET
+                id_last_message = CASE WHEN chat_summaries.last_message_sent_at IS NULL
+                        OR EXCLUDED.last_message_sent_at >= chat_summaries.last_message_sent_at
+                    THEN EXCLUDED.id_last_message ELSE chat_summaries.id_last_message END,
+                last_message_content = CASE WHEN chat_summaries.last_message_sent_at IS NULL
+                        OR EXCLUDED.last_message_sent_at >= chat_summaries.last_message_sent_at
+                    THEN EXCLUDED.last_message_content ELSE chat_summaries.last_message_content END,
+                last_message_sent_at = GREATEST(chat_summaries.last_message_sent_at, EXCLUDED.last_message_sent_at),
+                student_unread_count = chat_summaries.student_unread_count + EXCLUDED.student_unread_count,
+                mentor_unread_count = chat_summaries.mentor_unread_count + EXCLUDED.mentor_unread_count
+            """, nativeQuery = true)
+    void applyNewMessage(@Param("chatId") Integer chatId,
+                         @Param("messageId") Integer messageId,
+                         @Param("content") String content,
+                         @Param("sentAt") LocalDateTime sentAt,
+                         @Param("studentUnread") int studentUnread,
+                         @Param("mentorUnread") int mentorUnread);
+
+    // Subtracts only the messages actually marked as read, so increments committed in between are kept
+    @Modifying
+    @Query(value = "UPDATE chat_summaries SET student_unread_count = GREATEST(student_unread_count - :count, 0) "
+            + "WHERE id_chat = :chatId", nativeQuery = true)
+    void subtractStudentUnread(@Param("chatId") Integer chatId, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "UPDATE chat_summaries SET mentor_unread_count = GREATEST(mentor_unread_count - :count, 0) "
+            + "WHERE id_chat = :chatId", nativeQuery = true)
+    void subtractMentorUnread(@Param("chatId") Integer chatId, @Param("count") int count);
+
+    // Empty summaries for chats that have none yet, so every summary to rebuild has a row to lock
+    @Modifying
+    @Query(value = "INSERT INTO chat_summaries (id_chat) SELECT c.id_chat FROM chats c "
+            + "ON CONFLICT (id_chat) DO NOTHING", nativeQuery = true)
+    void createAllMissing();
+
+    @Modifying
+    @Query(value = "INSERT INTO chat_summaries (id_chat) SELECT c.id_chat FROM chats c WHERE c.id_chat IN (:chatIds) "
+            + "ON CONFLICT (id_chat) DO NOTHING", nativeQuery = true)
+    void createMissing(@Param("chatIds") Collection<Integer> chatIds);
+
+    // Waits for senders and readers holding these rows to commit and blocks new ones until the rebuild commits.
+    // The rebuild statement that follows then takes its snapshot after them (read committed), so it counts
+    // their messages, and later deltas are applied on top of the rebuilt values
+    @Query(value = "SELECT id_chat FROM chat_summaries ORDER BY id_chat FOR UPDATE", nativeQuery = true)
+    List<Integer> lockAll();
+
+    @Query(value = "SELECT id_chat FROM chat_summaries WHERE id_chat IN (:chatIds) ORDER BY id_chat FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lock(@Param("chatIds") Collection<Integer> chatIds);
+
+    // Call after lockAll, in the same transaction
+    @Modifying
+    @Query(value = SUMMARY_UPSERT + "SELECT * FROM (" + SUMMARY_SOURCE + ") src" + SUMMARY_OVERWRITE,
+            nativeQuery = true)
+    int rebuildAll();
+
+    // Call after lock(chatIds), in the same transaction
+    @Modifying
+    @Query(value = SUMMARY_UPSERT + "SELECT * FROM (" + SUMMARY_SOURCE + ") src WHERE src.id_chat IN (:chatIds)"
+            + SUMMARY_OVERWRITE, nativeQuery = true)
+    int rebuild(@Param("chatIds") Collection<Integer> chatIds);
+
+    // Chats whose stored summary is missing or differs from the one computed from messages
+    @Query(value = "SELECT src.id_chat FROM (" + SUMMARY_SOURCE + ") src "
+            + "LEFT JOIN chat_summaries cs ON cs.id_chat = src.id_chat "
+            + "WHERE cs.id_chat IS NULL "
+            + "OR cs.id_last_message IS DISTINCT FROM src.id_last_message "
+            + "OR cs.last_message_sent_at IS DISTINCT FROM src.last_message_sent_at "
+            + "OR cs.student_unread_count <> src.student_unread_count "
+            + "OR cs.mentor_unread_count <> src.mentor_unread_count", nativeQuery = true)
+    List<Integer> findInconsistentChatIds();
+}
@@ -0,0 +1,20 @@
+package org.example.mentorship.repository;
+
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.entity.Mentor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Catalog rows (mentor + profile) selected straight into DTOs with a single statement
+public interface MentorCatalogRepository {
+    List<MentorAllDataDto> findCatalog(Specification<Mentor> spec, Sort sort);
+
+    List<MentorAllDataDto> findCatalogPage(Specification<Mentor> spec, Sort sort, int offset, int limit);
+
+    long countCatalog(Specification<Mentor> spec);
+
+    // Rows are read from an open JDBC cursor, the caller must close the stream inside a transaction
+    Stream<MentorAllDataDto> streamCatalog(Specification<Mentor> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,115 @@
+package org.example.mentorship.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.entity.Profile;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public class MentorCatalogRepositoryImpl implements MentorCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MentorAllDataDto> findCatalog(Specification<Mentor> spec, Sort sort) {
+        return createCatalogQuery(spec, sort).getResultList();
+    }
+
+    @Override
+    public List<MentorAllDataDto> findCatalogPage(Specification<Mentor> spec, Sort sort, int offset, int limit) {
+        return createCatalogQuery(spec, sort)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countCatalog(Specification<Mentor> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Mentor> root = query.from(Mentor.class);
+
+        // Same joins as the catalog query so the count matches the listed rows
+        MentorSpecifications.profileJoin(root);
+
+        query.select(criteriaBuilder.count(root));
+        applySpecification(spec, root, query, criteriaBuilder);
+        // Specifications may add ordering (relevance), which is meaningless for a count
+        query.orderBy(List.of());
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Stream<MentorAllDataDto> streamCatalog(Specification<Mentor> spec, Sort sort, int fetchSize) {
+        return createCatalogQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<MentorAllDataDto> createCatalogQuery(Specification<Mentor> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MentorAllDataDto> query = criteriaBuilder.createQuery(MentorAllDataDto.class);
+        Root<Mentor> root = query.from(Mentor.class);
+
+        // Mentors without a profile are not listed, hence the inner join
+        Join<User, Profile> profile = MentorSpecifications.profileJoin(root);
+
+        query.select(criteriaBuilder.construct(MentorAllDataDto.class,
+                root.get("id"),
+                profile.get("profilePictureUrl"),
+                profile.get("firstName"),
+                profile.get("lastName"),
+                profile.get("bio"),
+                profile.get("age"),
+                root.get("hourlyRate"),
+                root.get("specialization"),
+                root.get("experienceYears"),
+                root.get("averageRating"),
+                root.get("mentorTargetStudents"),
+                root.get("rating1Count"),
+                root.get("rating2Count"),
+                root.get("rating3Count"),
+                root.get("rating4Count"),
+                root.get("rating5Count")));
+
+        applySpecification(spec, root, query, criteriaBuilder);
+
+        // Ordering set by a specification (relevance) goes first, then the requested sort
+        List<Order> orders = new ArrayList<>(query.getOrderList());
+        orders.addAll(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query);
+    }
+
+    private void applySpecification(Specification<Mentor> spec, Root<Mentor> root,
+                                    CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
@@ -1,12 +1,127 @@
 package org.example.mentorship.repository;
 
+import org.example.mentorship.dto.RatingDistributionDto;
 import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface MentorRepository extends JpaRepository<Mentor, Integer>, JpaSpecificationExecutor<Mentor> {
+public interface MentorRepository extends JpaRepository<Mentor, Integer>, JpaSpecificationExecutor<Mentor>,
+        MentorCatalogRepository {
+
+    // Ranking inputs of mentor m, see mentor_search_score in the V10 migration
+    String SEARCH_SCORE = """
+            mentor_search_score(m.average_rating, m.review_count, m.experience_years, m.subscription_active)
+            """;
+
+    // Per-mentor aggregates recomputed from the reviews table
+    String REVIEW_AGGREGATES = """
+            SELECT mm.id_mentor,
+                   COUNT(r.id_review) AS review_count,
+                   COALESCE(SUM(r.review_rating), 0) AS rating_sum,
+                   COUNT(r.id_review) FILTER (WHERE r.review_rating = 1) AS rating_1_count,
+                   COUNT(r.id_review) FILTER (WHERE r.review_rating = 2) AS rating_2_count,
+                   COUNT(r.id_review) FILTER (WHERE r.review_rating = 3) AS rating_3_count,
+                   COUNT(r.id_review) FILTER (WHERE r.review_rating = 4) AS rating_4_count,
+                   COUNT(r.id_review) FILTER (WHERE r.review_rating = 5) AS rating_5_count
+            FROM mentors mm
+            LEFT JOIN reviews r ON r.id_mentor = mm.id_mentor
+            """;
+
+    // average_rating as it follows from the aggregates agg above
+    String AGGREGATE_AVERAGE_RATING = """
+            CASE WHEN agg.review_count > 0 THEN ROUND(agg.rating_sum::NUMERIC / agg.review_count, 2) ELSE 0 END
+            """;
+
     Optional<Mentor> findByUser(User user);
+
+    Optional<Mentor> findByUserId(Integer userId);
+
+    @Query("SELECT new org.example.mentorship.dto.RatingDistributionDto("
+            + "m.rating1Count, m.rating2Count, m.rating3Count, m.rating4Count, m.rating5Count) "
+            + "FROM Mentor m WHERE m.id = :mentorId")
+    Optional<RatingDistributionDto> findRatingDistribution(@Param("mentorId") Integer mentorId);
+
     boolean existsByUserId(Integer userId);
+
+    // Call after the mentor's rating, reviews, experience or subscription changed; pending entity changes are flushed first
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE mentors m SET search_score = " + SEARCH_SCORE + " WHERE m.id_mentor = :mentorId",
+            nativeQuery = true)
+    void refreshSearchScore(@Param("mentorId") Integer mentorId);
+
+    // Adds a review change to the stored aggregates in one atomic statement: the row lock serializes
+    // concurrent reviews of the same mentor, and SET expressions see the old values.
+    // removedRating / addedRating move the star buckets, 0 when there is none
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE mentors m SET
+                review_count = m.review_count + :countDelta,
+                rating_sum = m.rating_sum + :sumDelta,
+                rating_1_count = m.rating_1_count + (:addedRating = 1)::INT - (:removedRating = 1)::INT,
+                rating_2_count = m.rating_2_count + (:addedRating = 2)::INT - (:removedRating = 2)::INT,
+                rating_3_count = m.rating_3_count + (:addedRating = 3)::INT - (:removedRating = 3)::INT,
+                rating_4_count = m.rating_4_count + (:addedRating = 4)::INT - (:removedRating = 4)::INT,
+                rating_5_count = m.rating_5_count + (:addedRating = 5)::INT - (:removedRating = 5)::INT,
+                average_rating = CASE WHEN m.review_count + :countDelta > 0
+                    THEN ROUND((m.rating_sum + :sumDelta)::NUMERIC / (m.review_count + :countDelta), 2)
+                    ELSE 0 END,
+                search_score = mentor_search_score(
+                    CASE WHEN m.review_count + :countDelta > 0
+                        THEN ROUND((m.rating_sum + :sumDelta)::NUMERIC / (m.review_count + :countDelta), 2)
+                        ELSE 0 END,
+                    m.review_count + :countDelta, m.experience_years, m.subscription_active)
+            WHERE m.id_mentor = :mentorId
+            """, nativeQuery = true)
+    void applyReviewDelta(@Param("mentorId") Integer mentorId,
+                          @Param("countDelta") int countDelta,
+                          @Param("sumDelta") int sumDelta,
+                          @Param("removedRating") int removedRating,
+                          @Param("addedRating") int addedRating);
+
+    @Query(value = "SELECT agg.id_mentor FROM (" + REVIEW_AGGREGATES + " GROUP BY mm.id_mentor) agg "
+            + "JOIN mentors m ON m.id_mentor = agg.id_mentor "
+            + "WHERE m.review_count <> agg.review_count OR m.rating_sum <> agg.rating_sum "
+            + "OR m.rating_1_count <> agg.rating_1_count OR m.rating_2_count <> agg.rating_2_count "
+            + "OR m.rating_3_count <> agg.rating_3_count OR m.rating_4_count <> agg.rating_4_count "
+            + "OR m.rating_5_count <> agg.rating_5_count "
+            + "OR m.average_rating IS DISTINCT FROM " + AGGREGATE_AVERAGE_RATING,
+            nativeQuery = true)
+    List<Integer> findMentorsWithRatingDrift();
+
+    // Waits for review changes holding these mentors to commit and blocks new deltas until the reconcile commits,
+    // so the aggregates recomputed afterwards (read committed) include the former and the latter apply on top
+    @Query(value = "SELECT id_mentor FROM mentors WHERE id_mentor IN (:mentorIds) ORDER BY id_mentor FOR UPDATE",
+            nativeQuery = true)
+    List<Integer> lockForUpdate(@Param("mentorIds") Collection<Integer> mentorIds);
+
+    // Call after lockForUpdate, in the same transaction
+    @Modifying
+    @Query(value = """
+            UPDATE mentors m SET
+                review_count = agg.review_count,
+                rating_sum = agg.rating_sum,
+                rating_1_count = agg.rating_1_count,
+                rating_2_count = agg.rating_2_count,
+                rating_3_count = agg.rating_3_count,
+                rating_4_count = agg.rating_4_count,
+                rating_5_count = agg.rating_5_count,
+                average_rating = """ + AGGREGATE_AVERAGE_RATING + """
+            FROM (""" + REVIEW_AGGREGATES + """
+             WHERE mm.id_mentor IN (:mentorIds) GROUP BY mm.id_mentor) agg
+            WHERE m.id_mentor = agg.id_mentor
+            """, nativeQuery = true)
+    int reconcileReviewAggregates(@Param("mentorIds") Collection<Integer> mentorIds);
+
+    // Fixes scores that drifted, returns how many changed
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE mentors m SET search_score = " + SEARCH_SCORE
+            + " WHERE m.search_score IS DISTINCT FROM " + SEARCH_SCORE, nativeQuery = true)
+    int refreshAllSearchScores();
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package org.example.mentorship.repository;
 
+import jakarta.persistence.LockModeType;
+import org.example.mentorship.dto.ReviewResponse;
 import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.Review;
 import org.example.mentorship.entity.Student;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,11 +15,42 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
-    List<Review> findByMentorOrderByCreatedAtDesc(Mentor mentor);
+    // Review with the author's name and picture in one query; authors without a profile get empty strings
+    String REVIEW_RESPONSE = """
+            SELECT new org.example.mentorship.dto.ReviewResponse(
+                r.id, COALESCE(p.profilePictureUrl, ''), COALESCE(p.firstName, ''), COALESCE(p.lastName, ''),
+                r.comment, r.rating, r.createdAt)
+            FROM Review r
+            JOIN r.student s
+            JOIN s.user u
+            LEFT JOIN u.profile p
+            """;
 
-    Optional<Review> findByStudentAndMentor(Student student, Mentor mentor);
+    // Keyset pages over (id_mentor, review_created_at DESC, id_review DESC), newest first
+    @Query(REVIEW_RESPONSE + """
+            WHERE r.mentor.id = :mentorId
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReviewResponse> findLatestPage(@Param("mentorId") Integer mentorId, Limit limit);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.mentor = :mentor")
-    Double calculateAverageRatingForMentor(@Param("mentor") Mentor mentor);
+    @Query(REVIEW_RESPONSE + """
+            , Review c
+            WHERE r.mentor.id = :mentorId
+              AND c.id = :cursorId AND c.mentor.id = :mentorId
+              AND (r.createdAt, r.id) < (c.createdAt, c.id)
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<ReviewResponse> findPageBefore(@Param("mentorId") Integer mentorId,
+                                        @Param("cursorId") Integer cursorId,
+                                        Limit limit);
+
+    // Locked until commit, so concurrent changes to one review apply their rating deltas one after another,
+    // each computed from the rating the previous one left
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Review> findForUpdateByStudentAndMentor(Student student, Mentor mentor);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :reviewId")
+    Optional<Review> findByIdForUpdate(@Param("reviewId") Integer reviewId);
 
 }
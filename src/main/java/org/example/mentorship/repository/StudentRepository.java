@@ -7,5 +7,6 @@ import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Integer> {
     Optional<Student> findByUser(User user);
+    Optional<Student> findByUserId(Integer userId);
     boolean existsByUserId(Integer userId);
 }
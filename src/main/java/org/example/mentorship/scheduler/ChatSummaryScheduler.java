@@ -0,0 +1,42 @@
+package org.example.mentorship.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.service.ChatSummaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSummaryScheduler {
+
+    private final ChatSummaryService chatSummaryService;
+
+    @Value("${app.chat.summary.rebuild-on-startup}")
+    private boolean rebuildOnStartup;
+
+    // Full backfill, e.g. after restoring an old database dump
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            int rebuiltCount = chatSummaryService.rebuildAll();
+            log.info("Rebuilt {} chat summaries", rebuiltCount);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Every day at 03:30
+    public void checkChatSummaries() {
+        List<Integer> inconsistentChats = chatSummaryService.findInconsistentChats();
+
+        if (!inconsistentChats.isEmpty()) {
+            log.warn("Found {} inconsistent chat summaries: {}", inconsistentChats.size(), inconsistentChats);
+            int repairedCount = chatSummaryService.repair(inconsistentChats);
+            log.info("Repaired {} chat summaries", repairedCount);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.mentorship.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
+import org.example.mentorship.repository.MentorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Slf4j
+@Component
+public class MentorRatingScheduler {
+
+    private final MentorRepository mentorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public MentorRatingScheduler(MentorRepository mentorRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.mentorRepository = mentorRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(cron = "0 5 0 * * *") // Every day at 00:05, before the search score refresh
+    @Transactional
+    public void reconcileReviewAggregates() {
+        // Incremental review_count / rating_sum / average_rating should always match the reviews table
+        List<Integer> driftedMentorIds = mentorRepository.findMentorsWithRatingDrift();
+        if (driftedMentorIds.isEmpty()) {
+            return;
+        }
+
+        log.warn("Review aggregates drifted for {} mentors: {}", driftedMentorIds.size(), driftedMentorIds);
+        mentorRepository.lockForUpdate(driftedMentorIds);
+        mentorRepository.reconcileReviewAggregates(driftedMentorIds);
+        driftedMentorIds.forEach(mentorRepository::refreshSearchScore);
+        eventPublisher.publishEvent(new MentorCatalogChangedEvent(null));
+    }
+}
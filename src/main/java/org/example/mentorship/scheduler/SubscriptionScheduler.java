@@ -1,22 +1,29 @@
 package org.example.mentorship.scheduler;
 
+import lombok.extern.slf4j.Slf4j;
 import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.MentorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 
+@Slf4j
 @Component
 public class SubscriptionScheduler {
 
     private final MentorRepository mentorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SubscriptionScheduler(MentorRepository mentorRepository) {
+    public SubscriptionScheduler(MentorRepository mentorRepository,
+                                 ApplicationEventPublisher eventPublisher) {
         this.mentorRepository = mentorRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Scheduled(cron = "0 0 0 * * *") // Every day at midnight
@@ -33,7 +40,19 @@ public class SubscriptionScheduler {
                 mentor.setSubscriptionActive(false);
                 mentor.setSubscriptionExpiryDate(null);
                 mentorRepository.save(mentor);
+                mentorRepository.refreshSearchScore(mentor.getId());
+                eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId()));
             }
         }
     }
+
+    @Scheduled(cron = "0 15 0 * * *") // Every day at 00:15, after expirations
+    @Transactional
+    public void refreshSearchScores() {
+        int refreshedCount = mentorRepository.refreshAllSearchScores();
+        if (refreshedCount > 0) {
+            log.warn("Refreshed {} drifted mentor search scores", refreshedCount);
+            eventPublisher.publishEvent(new MentorCatalogChangedEvent(null));
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package org.example.mentorship.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
+import org.example.mentorship.repository.MentorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps the whole mentor catalog in memory when app.search.in-memory.enabled is set.
+// Loaded once at startup, then each committed catalog change re-reads only the affected mentor
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemoryMentorSearch {
+
+    private final MentorRepository mentorRepository;
+
+    @Value("${app.search.in-memory.enabled}")
+    private boolean enabled;
+
+    // Guarded by this, the published index is an immutable snapshot
+    private final Map<Integer, MentorAllDataDto> rows = new HashMap<>();
+    private volatile MentorSearchIndex index;
+
+    // Changes committed while the catalog is being loaded, replayed before the loaded index is published
+    private final Set<Integer> pendingMentorIds = new LinkedHashSet<>();
+    private boolean reloadPending;
+    private boolean loading;
+
+    // Null while disabled or not loaded yet, callers then use the database
+    public MentorSearchIndex getIndex() {
+        return index;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled || !startLoading()) {
+            return;
+        }
+
+        try {
+            boolean reload = true;
+            while (reload) {
+                synchronized (this) {
+                    // Everything queued so far committed before the read below, which covers it
+                    pendingMentorIds.clear();
+                    reloadPending = false;
+                }
+
+                List<MentorAllDataDto> catalog = mentorRepository.findCatalog(null, Sort.unsorted());
+                synchronized (this) {
+                    rows.clear();
+                    catalog.forEach(row -> rows.put(row.mentorId(), row));
+                    // The read may have missed changes that committed while it ran
+                    pendingMentorIds.forEach(this::refreshRow);
+                    pendingMentorIds.clear();
+
+                    reload = reloadPending;
+                    if (!reload) {
+                        loading = false;
+                        index = new MentorSearchIndex(rows.values());
+                    }
+                }
+                log.info("Loaded {} mentors into the in-memory search index", catalog.size());
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading = false; // Keep serving the previous index, if any
+            }
+            throw e;
+        }
+    }
+
+    // Runs before MentorCatalogCache starts a new version, so fresh pages are built from the updated index
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(MentorCatalogChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (index == null && !loading) {
+                return; // Committed before the startup load, which will read it
+            }
+            if (loading) {
+                if (event.mentorId() == null) {
+                    reloadPending = true;
+                } else {
+                    pendingMentorIds.add(event.mentorId());
+                }
+                return;
+            }
+            if (event.mentorId() != null) {
+                // Read under the lock: of two overlapping changes to one mentor, the later read stores the row
+                refreshRow(event.mentorId());
+                index = new MentorSearchIndex(rows.values());
+                return;
+            }
+        }
+        load();
+    }
+
+    // One load at a time, a load requested meanwhile makes the running one read again
+    private synchronized boolean startLoading() {
+        if (loading) {
+            reloadPending = true;
+            return false;
+        }
+        loading = true;
+        return true;
+    }
+
+    // Call while holding the lock
+    private void refreshRow(Integer mentorId) {
+        Specification<Mentor> byId = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("id"), mentorId);
+        List<MentorAllDataDto> current = mentorRepository.findCatalog(byId, Sort.unsorted());
+
+        if (current.isEmpty()) {
+            rows.remove(mentorId); // Deleted, or no profile yet
+        } else {
+            rows.put(mentorId, current.get(0));
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.mentorship.search;
+
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorFacetsDto;
+import org.example.mentorship.dto.MentorSearchRequest;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.springframework.data.domain.Sort;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// Immutable in-memory copy of the mentor catalog. Filtering follows MentorSpecifications:
+// every query word prefix-matches a document word (documentWords, as indexed by search_tsvector), specialization is a case-insensitive substring,
+// ranges are inclusive and never match a null value. Sorting follows PostgreSQL (nulls are the largest value)
+public final class MentorSearchIndex {
+
+    // Upper bounds of the hourly rate facet buckets, the last bucket is open
+    static final BigDecimal[] RATE_BUCKET_BOUNDS = {
+            BigDecimal.valueOf(25), BigDecimal.valueOf(50), BigDecimal.valueOf(100)
+    };
+
+    private static final Map<String, Function<MentorAllDataDto, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", MentorAllDataDto::mentorId,
+            "hourlyRate", MentorAllDataDto::hourlyRate,
+            "experienceYears", MentorAllDataDto::experienceYears,
+            "averageRating", MentorAllDataDto::averageRating
+    );
+
+    private final MentorAllDataDto[] rows;
+    private final String[] specializations;
+    private final NavigableMap<String, int[]> postings;
+    private final NumericColumn hourlyRates;
+    private final NumericColumn experienceYears;
+    private final NumericColumn averageRatings;
+
+    public MentorSearchIndex(Collection<MentorAllDataDto> mentors) {
+        this.rows = mentors.stream()
+                .sorted(Comparator.comparing(MentorAllDataDto::mentorId))
+                .toArray(MentorAllDataDto[]::new);
+
+        int size = rows.length;
+        this.specializations = new String[size];
+
+        Map<String, BitSet> termDocs = new HashMap<>();
+        long[] rates = new long[size];
+        long[] experience = new long[size];
+        long[] ratings = new long[size];
+        BitSet hasRate = new BitSet(size);
+        BitSet hasExperience = new BitSet(size);
+        BitSet hasRating = new BitSet(size);
+
+        for (int doc = 0; doc < size; doc++) {
+            MentorAllDataDto row = rows[doc];
+            specializations[doc] = row.specialization() == null ? null : row.specialization().toLowerCase();
+
+            String document = String.join(" ", Objects.toString(row.firstName(), ""),
+                    Objects.toString(row.lastName(), ""), Objects.toString(row.specialization(), ""),
+                    Objects.toString(row.mentorTargetStudents(), ""), Objects.toString(row.bio(), ""));
+            for (String word : MentorSpecifications.documentWords(document)) {
+                termDocs.computeIfAbsent(word, w -> new BitSet(size)).set(doc);
+            }
+
+            if (row.hourlyRate() != null) {
+                rates[doc] = hundredths(row.hourlyRate(), RoundingMode.HALF_UP);
+                hasRate.set(doc);
+            }
+            if (row.experienceYears() != null) {
+                experience[doc] = row.experienceYears();
+                hasExperience.set(doc);
+            }
+            if (row.averageRating() != null) {
+                ratings[doc] = hundredths(row.averageRating(), RoundingMode.HALF_UP);
+                hasRating.set(doc);
+            }
+        }
+
+        this.postings = new TreeMap<>();
+        termDocs.forEach((term, docs) -> postings.put(term, docs.stream().toArray()));
+
+        this.hourlyRates = new NumericColumn(rates, hasRate);
+        this.experienceYears = new NumericColumn(experience, hasExperience);
+        this.averageRatings = new NumericColumn(ratings, hasRating);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    // Sort orders this index can reproduce, anything else must go to the database.
+    // That includes relevance: ts_rank is not reproduced here
+    public static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORT_KEYS.containsKey(order.getProperty()));
+    }
+
+    // All matching mentors in the requested order
+    public List<MentorAllDataDto> search(MentorSearchRequest filters, Sort sort) {
+        BitSet matches = match(filters);
+
+        List<Integer> docs = new ArrayList<>(matches.cardinality());
+        matches.stream().forEach(docs::add);
+
+        // Stable order for ties, the database pages with an id tie-break too
+        docs.sort(Comparator.<Integer, MentorAllDataDto>comparing(doc -> rows[doc], comparator(sort))
+                .thenComparing(Function.identity()));
+
+        return docs.stream().map(doc -> rows[doc]).toList();
+    }
+
+    public MentorFacetsDto facets(MentorSearchRequest filters) {
+        BitSet matches = match(filters);
+        return facetsOf(matches.stream().mapToObj(doc -> rows[doc]).toList());
+    }
+
+    // Counts per specialization and hourly rate bucket
+    public static MentorFacetsDto facetsOf(Collection<MentorAllDataDto> mentors) {
+        Map<String, Long> specializationCounts = new TreeMap<>();
+        long[] bucketCounts = new long[RATE_BUCKET_BOUNDS.length + 1];
+
+        for (MentorAllDataDto mentor : mentors) {
+            if (mentor.specialization() != null) {
+                specializationCounts.merge(mentor.specialization(), 1L, Long::sum);
+            }
+            if (mentor.hourlyRate() != null) {
+                int bucket = 0;
+                while (bucket < RATE_BUCKET_BOUNDS.length && mentor.hourlyRate().compareTo(RATE_BUCKET_BOUNDS[bucket]) >= 0) {
+                    bucket++;
+                }
+                bucketCounts[bucket]++;
+            }
+        }
+
+        List<MentorFacetsDto.RateBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal from = i == 0 ? BigDecimal.ZERO : RATE_BUCKET_BOUNDS[i - 1];
+            BigDecimal to = i < RATE_BUCKET_BOUNDS.length ? RATE_BUCKET_BOUNDS[i] : null;
+            buckets.add(new MentorFacetsDto.RateBucket(from, to, bucketCounts[i]));
+        }
+
+        return new MentorFacetsDto(mentors.size(), specializationCounts, buckets);
+    }
+
+    private BitSet match(MentorSearchRequest filters) {
+        BitSet result = new BitSet(rows.length);
+        result.set(0, rows.length);
+
+        // Each query word must prefix-match some word of the document
+        for (String word : MentorSpecifications.words(filters.getQuery())) {
+            BitSet wordDocs = new BitSet(rows.length);
+            for (int[] docs : postings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                for (int doc : docs) {
+                    wordDocs.set(doc);
+                }
+            }
+            result.and(wordDocs);
+        }
+
+        String specialization = filters.getSpecialization();
+        if (specialization != null && !specialization.isEmpty()) {
+            String needle = specialization.toLowerCase();
+            for (int doc = result.nextSetBit(0); doc >= 0; doc = result.nextSetBit(doc + 1)) {
+                if (specializations[doc] == null || !specializations[doc].contains(needle)) {
+                    result.clear(doc);
+                }
+            }
+        }
+
+        if (filters.getMinRate() != null || filters.getMaxRate() != null) {
+            result.and(hourlyRates.range(
+                    filters.getMinRate() == null ? null : hundredths(filters.getMinRate(), RoundingMode.CEILING),
+                    filters.getMaxRate() == null ? null : hundredths(filters.getMaxRate(), RoundingMode.FLOOR)));
+        }
+        if (filters.getMinExperience() != null) {
+            result.and(experienceYears.range((long) filters.getMinExperience(), null));
+        }
+        if (filters.getMinRating() != null) {
+            result.and(averageRatings.range(hundredths(filters.getMinRating(), RoundingMode.CEILING), null));
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<MentorAllDataDto> comparator(Sort sort) {
+        Comparator<MentorAllDataDto> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<MentorAllDataDto, Comparable> key = (Function) SORT_KEYS.get(order.getProperty());
+            // PostgreSQL: NULLS LAST for ascending, NULLS FIRST for descending
+            Comparator<MentorAllDataDto> field = Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? field : field.reversed());
+        }
+        return comparator;
+    }
+
+    // Catalog money and rating columns have two decimals, so hundredths compare exactly
+    private static long hundredths(BigDecimal value, RoundingMode roundingMode) {
+        return value.setScale(2, roundingMode).unscaledValue().longValueExact();
+    }
+
+    // Non-null values of one column sorted ascending, with the owning document of each value
+    private static final class NumericColumn {
+
+        private final long[] values;
+        private final int[] docs;
+        private final int size;
+
+        NumericColumn(long[] columnValues, BitSet present) {
+            this.size = columnValues.length;
+            Integer[] order = present.stream().boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingLong(doc -> columnValues[doc]));
+
+            this.values = new long[order.length];
+            this.docs = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                docs[i] = order[i];
+                values[i] = columnValues[order[i]];
+            }
+        }
+
+        // Documents with min <= value <= max, a null bound is open
+        BitSet range(Long min, Long max) {
+            int from = min == null ? 0 : lowerBound(min);
+            int to = max == null ? values.length : lowerBound(max + 1);
+
+            BitSet result = new BitSet(size);
+            for (int i = from; i < to; i++) {
+                result.set(docs[i]);
+            }
+            return result;
+        }
+
+        // First position whose value is >= target
+        private int lowerBound(long target) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
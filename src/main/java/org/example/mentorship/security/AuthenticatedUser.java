@@ -0,0 +1,12 @@
+package org.example.mentorship.security;
+
+import org.example.mentorship.entity.User;
+
+// Immutable identity of an authenticated user, safe to cache and share between requests.
+// Services that need the entity load it through UserRepository in their own transaction
+public record AuthenticatedUser(Integer id, String email, String roleName, boolean emailVerified) {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole().getRoleName(), user.isEmailVerified());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.mentorship.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.mentorship.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+
+// Short-lived cache of authenticated users, so identity resolution doesn't hit the database on every request
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public AuthenticatedUserCache(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.cache.principal.max-size}") long maxSize,
+                                  @Value("${app.cache.principal.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    // Only an immutable snapshot is cached, never the entity, so no request can change what another one sees
+    public AuthenticatedUser getByEmail(String email) {
+        return cache.get(email, key -> userRepository.findByEmail(key)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + key)));
+    }
+
+    // Call on account deletion, role change or email verification
+    public void evict(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        } else {
+            cache.invalidate(email);
+        }
+    }
+}
@@ -23,8 +23,8 @@ public class CurrentUserProvider {
         this.userRepository = userRepository;
     }
 
-    @Transactional(readOnly = true)
-    public Optional<User> getCurrentUser() {
+    // Id, email and role as resolved by JwtRequestFilter for this request, without a database lookup
+    public Optional<AuthenticatedUser> getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated() ||
@@ -34,14 +34,18 @@ public class CurrentUserProvider {
 
         try {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            Integer userId = userDetails.getUser().getId();
-            // Reboot the user to avoid LazyInitializationException
-            return userRepository.findById(userId);
+            return Optional.of(userDetails.getUser());
         } catch (ClassCastException e) {
             return Optional.empty();
         }
     }
 
+    // A reference managed by the caller's persistence context: free while only the id is used,
+    // loaded on first access to anything else. Use inside a transaction
+    public Optional<User> getCurrentUser() {
+        return getCurrentPrincipal().map(principal -> userRepository.getReferenceById(principal.id()));
+    }
+
     @Transactional(readOnly = true)
     public <T> ResponseEntity<T> withCurrentUser(Function<User, ResponseEntity<T>> action) {
         return getCurrentUser()
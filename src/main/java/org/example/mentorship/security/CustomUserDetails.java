@@ -10,25 +10,31 @@ import java.util.Collections;
 
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final AuthenticatedUser user;
+    private final String passwordHash;
 
     public CustomUserDetails(User user) {
+        this(AuthenticatedUser.of(user), user.getPasswordHash());
+    }
+
+    public CustomUserDetails(AuthenticatedUser user, String passwordHash) {
         this.user = user;
+        this.passwordHash = passwordHash;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority(user.getRole().getRoleName()));
+        return Collections.singletonList(new SimpleGrantedAuthority(user.roleName()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return passwordHash;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return user.email();
     }
 
     @Override
@@ -48,11 +54,11 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.isEmailVerified();
+        return user.emailVerified();
     }
 
-    // Getter to access the original User entity
-    public User getUser() {
+    // Snapshot of the user taken at authentication, not a managed entity
+    public AuthenticatedUser getUser() {
         return user;
     }
 }
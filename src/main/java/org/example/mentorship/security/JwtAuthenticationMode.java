@@ -0,0 +1,8 @@
+package org.example.mentorship.security;
+
+public enum JwtAuthenticationMode {
+    // Load the user for every token (through AuthenticatedUserCache)
+    DATABASE,
+    // Trust the id, email and role embedded in the signed token; only the deny-list is consulted
+    CLAIMS
+}
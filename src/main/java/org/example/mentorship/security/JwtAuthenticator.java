@@ -0,0 +1,55 @@
+package org.example.mentorship.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+// Turns verified token claims into an authentication; shared by JwtRequestFilter and the STOMP CONNECT interceptor
+@Component
+public class JwtAuthenticator {
+
+    private final JwtTokenUtils jwtTokenUtils;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final JwtAuthenticationMode authenticationMode;
+
+    public JwtAuthenticator(JwtTokenUtils jwtTokenUtils,
+                            AuthenticatedUserCache authenticatedUserCache,
+                            RevokedTokenRegistry revokedTokenRegistry,
+                            @Value("${jwt.authentication-mode}") JwtAuthenticationMode authenticationMode) {
+        this.jwtTokenUtils = jwtTokenUtils;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.authenticationMode = authenticationMode;
+    }
+
+    // Returns null when the user is disabled or the token doesn't belong to them
+    public UsernamePasswordAuthenticationToken authenticate(Claims claims) {
+        UserDetails userDetails = new CustomUserDetails(resolveUser(claims), null);
+
+        if (!userDetails.isEnabled() || !jwtTokenUtils.validateToken(claims, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private AuthenticatedUser resolveUser(Claims claims) {
+        Integer userId = claims.get(JwtTokenUtils.USER_ID_CLAIM, Integer.class);
+        String roleName = claims.get(JwtTokenUtils.ROLE_CLAIM, String.class);
+
+        // Tokens issued before the user id claim existed still go through the database
+        if (authenticationMode != JwtAuthenticationMode.CLAIMS || userId == null || roleName == null) {
+            return authenticatedUserCache.getByEmail(claims.getSubject());
+        }
+
+        if (revokedTokenRegistry.isRevoked(userId, claims.getIssuedAt())) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+
+        // Tokens are only issued after a successful login, which requires a verified email
+        return new AuthenticatedUser(userId, claims.getSubject(), roleName, true);
+    }
+}
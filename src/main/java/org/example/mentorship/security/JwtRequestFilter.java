@@ -1,5 +1,6 @@
 package org.example.mentorship.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,8 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,13 +18,16 @@ import java.io.IOException;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    // Request attribute holding the verified claims of the bearer token
+    public static final String CLAIMS_ATTRIBUTE = JwtRequestFilter.class.getName() + ".CLAIMS";
+
     private final JwtTokenUtils jwtTokenUtils;
-    private final UserDetailsService userDetailsService;
+    private final JwtAuthenticator jwtAuthenticator;
     private static final Logger logger = LoggerFactory.getLogger(JwtRequestFilter.class);
 
-    public JwtRequestFilter(JwtTokenUtils jwtTokenUtils, UserDetailsService userDetailsService) {
+    public JwtRequestFilter(JwtTokenUtils jwtTokenUtils, JwtAuthenticator jwtAuthenticator) {
         this.jwtTokenUtils = jwtTokenUtils;
-        this.userDetailsService = userDetailsService;
+        this.jwtAuthenticator = jwtAuthenticator;
     }
 
     @Override
@@ -36,14 +38,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         logger.debug("Authorization header: {}", authorizationHeader); // Для дебага
 
         String username = null;
-        String token = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            token = authorizationHeader.substring(7);
+            String token = authorizationHeader.substring(7);
             logger.debug("Extracted token: {}", token);
 
+            // The async dispatch of the same request reuses the claims parsed on the first pass
+            claims = (Claims) request.getAttribute(CLAIMS_ATTRIBUTE);
             try {
-                username = jwtTokenUtils.extractUsername(token);
+                if (claims == null) {
+                    claims = jwtTokenUtils.parseClaims(token);
+                    request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                }
+                username = claims.getSubject();
                 logger.debug("Extracted username: {}", username);
             } catch (Exception e) {
                 logger.warn("Failed to extract username from token: {}", e.getMessage());
@@ -54,11 +62,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UsernamePasswordAuthenticationToken authToken = jwtAuthenticator.authenticate(claims);
 
-                if (userDetails.isEnabled() && jwtTokenUtils.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     logger.debug("Authentication set for user: {}", username);
@@ -0,0 +1,33 @@
+package org.example.mentorship.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Date;
+
+// In-memory deny-list of users whose already issued tokens must no longer be accepted.
+// Entries live as long as a token can, after that every affected token has expired anyway.
+@Component
+public class RevokedTokenRegistry {
+
+    private final Cache<Integer, Long> revokedAt;
+
+    @Autowired
+    public RevokedTokenRegistry(@Value("${jwt.lifetime}") Duration jwtLifetime) {
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(jwtLifetime)
+                .build();
+    }
+
+    public void revoke(Integer userId) {
+        revokedAt.put(userId, System.currentTimeMillis());
+    }
+
+    public boolean isRevoked(Integer userId, Date issuedAt) {
+        Long revokedTime = revokedAt.getIfPresent(userId);
+        return revokedTime != null && (issuedAt == null || issuedAt.getTime() <= revokedTime);
+    }
+}
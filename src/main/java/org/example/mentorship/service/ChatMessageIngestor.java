@@ -0,0 +1,283 @@
+package org.example.mentorship.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.cache.ProfileSummaryCache;
+import org.example.mentorship.config.ChatIngestionMode;
+import org.example.mentorship.dto.ChatMessageDto;
+import org.example.mentorship.dto.MessageRequest;
+import org.example.mentorship.dto.ProfileSummaryDto;
+import org.example.mentorship.dto.WebSocketMessageDto;
+import org.example.mentorship.entity.Chat;
+import org.example.mentorship.entity.ChatMessage;
+import org.example.mentorship.event.ChatMessageCommittedEvent;
+import org.example.mentorship.repository.ChatMessageRepository;
+import org.example.mentorship.repository.ChatRepository;
+import org.example.mentorship.repository.ChatSummaryRepository;
+import org.example.mentorship.repository.UserRepository;
+import org.example.mentorship.security.AuthenticatedUser;
+import org.example.mentorship.security.CurrentUserProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Group commit for chat messages: queued sends are written by one thread in micro-batches,
+// one transaction and one JDBC insert batch per flush
+@Slf4j
+@Component
+public class ChatMessageIngestor {
+
+    private final ChatRepository chatRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatSummaryRepository chatSummaryRepository;
+    private final UserRepository userRepository;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatIngestionMode mode;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final BlockingQueue<PendingMessage> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public ChatMessageIngestor(ChatRepository chatRepository,
+                               ChatMessageRepository chatMessageRepository,
+                               ChatSummaryRepository chatSummaryRepository,
+                               UserRepository userRepository,
+                               ProfileSummaryCache profileSummaryCache,
+                               CurrentUserProvider currentUserProvider,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.chat.ingestion.mode}") ChatIngestionMode mode,
+                               @Value("${app.chat.ingestion.max-batch-size}") int maxBatchSize,
+                               @Value("${app.chat.ingestion.max-delay}") Duration maxDelay,
+                               @Value("${app.chat.ingestion.queue-capacity}") int queueCapacity) {
+        this.chatRepository = chatRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatSummaryRepository = chatSummaryRepository;
+        this.userRepository = userRepository;
+        this.profileSummaryCache = profileSummaryCache;
+        this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (isBatched()) {
+            running = true;
+            flusher = Thread.ofPlatform().name("ChatIngestion").daemon().start(this::run);
+        }
+    }
+
+    // Stops accepting messages and writes what is already queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher != null) {
+            running = false;
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public boolean isBatched() {
+        return mode == ChatIngestionMode.BATCHED;
+    }
+
+    // Access is checked when the batch is written; the future fails with the same errors as ChatService.sendMessage
+    public CompletableFuture<ChatMessageDto> submit(MessageRequest request) {
+        AuthenticatedUser sender = currentUserProvider.getCurrentPrincipal()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+
+        PendingMessage pending = new PendingMessage(request, sender, LocalDateTime.now(), new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("Chat message queue is full");
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // Wait at most maxDelay after the first message for the batch to fill up
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    PendingMessage next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: write whatever was collected, the loop drains the rest
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        try {
+            // Futures complete only after commit, so a returned id is always persisted
+            List<Runnable> completions = transactionTemplate.execute(status -> write(batch));
+            completions.forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                // Retry one by one, so a single bad message doesn't fail the others
+                log.warn("Failed to write a batch of {} chat messages, retrying individually", batch.size(), e);
+                batch.forEach(pending -> flush(List.of(pending)));
+            } else {
+                log.error("Failed to write chat message", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    private List<Runnable> write(List<PendingMessage> batch) {
+        Set<Integer> chatIds = batch.stream()
+                .map(pending -> pending.request().chatId())
+                .collect(Collectors.toSet());
+        Map<Integer, Chat> chats = chatRepository.findWithParticipantsByIdIn(chatIds).stream()
+                .collect(Collectors.toMap(Chat::getId, Function.identity()));
+
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        List<PendingMessage> accepted = new ArrayList<>(batch.size());
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+
+        for (PendingMessage pending : batch) {
+            Chat chat = chats.get(pending.request().chatId());
+            if (chat == null) {
+                completions.add(() -> pending.result().completeExceptionally(new RuntimeException("Chat not found")));
+                continue;
+            }
+
+            // Check access to the chat
+            if (!userHasAccessToChat(pending.sender(), chat)) {
+                completions.add(() -> pending.result().completeExceptionally(
+                        new RuntimeException("You do not have access to this chat")));
+                continue;
+            }
+
+            ChatMessage message = new ChatMessage();
+            message.setChat(chat);
+            message.setSender(userRepository.getReferenceById(pending.sender().id()));
+            message.setContent(pending.request().content());
+            message.setSentAt(pending.receivedAt());
+            message.setRead(false);
+
+            accepted.add(pending);
+            messages.add(message);
+            chat.setUpdatedAt(pending.receivedAt());
+        }
+
+        // One JDBC batch for the messages, ids come from the pooled sequence without round-trips
+        chatMessageRepository.saveAll(messages);
+        chatMessageRepository.flush();
+
+        // One summary update per chat: its newest message and the unread counts of the whole batch
+        Map<Chat, List<ChatMessage>> messagesByChat = messages.stream()
+                .collect(Collectors.groupingBy(ChatMessage::getChat, LinkedHashMap::new, Collectors.toList()));
+        messagesByChat.forEach((chat, chatMessages) -> {
+            ChatMessage last = chatMessages.get(chatMessages.size() - 1);
+            int fromStudent = (int) chatMessages.stream().filter(message -> sentByStudent(message, chat)).count();
+            chatSummaryRepository.applyNewMessage(
+                    chat.getId(),
+                    last.getId(),
+                    last.getContent(),
+                    last.getSentAt(),
+                    chatMessages.size() - fromStudent,
+                    fromStudent
+            );
+        });
+
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingMessage pending = accepted.get(i);
+            ChatMessage message = messages.get(i);
+            Chat chat = message.getChat();
+            ProfileSummaryDto senderProfile = profileSummaryCache.get(pending.sender().id());
+
+            ChatMessageDto messageDTO = new ChatMessageDto(
+                    message.getId(),
+                    chat.getId(),
+                    pending.sender().id(),
+                    senderProfile.fullName(),
+                    senderProfile.profilePictureUrl(),
+                    message.getContent(),
+                    message.getSentAt(),
+                    message.isRead()
+            );
+
+            // Delivered by ChatMessageDispatcher after commit
+            eventPublisher.publishEvent(new ChatMessageCommittedEvent(
+                    new WebSocketMessageDto(
+                            "MESSAGE",
+                            chat.getId(),
+                            pending.sender().id(),
+                            messageDTO.senderName(),
+                            message.getContent(),
+                            message.getSentAt(),
+                            message.getId()
+                    ),
+                    List.of(chat.getStudent().getUser().getEmail(), chat.getMentor().getUser().getEmail())
+            ));
+            completions.add(() -> pending.result().complete(messageDTO));
+        }
+
+        return completions;
+    }
+
+    private boolean userHasAccessToChat(AuthenticatedUser user, Chat chat) {
+        if ("ROLE_STUDENT".equals(user.roleName())) {
+            return chat.getStudent().getUser().getId().equals(user.id());
+        } else if ("ROLE_MENTOR".equals(user.roleName())) {
+            return chat.getMentor().getUser().getId().equals(user.id());
+        }
+        return false;
+    }
+
+    private boolean sentByStudent(ChatMessage message, Chat chat) {
+        return message.getSender().getId().equals(chat.getStudent().getUser().getId());
+    }
+
+    private record PendingMessage(MessageRequest request,
+                                  AuthenticatedUser sender,
+                                  LocalDateTime receivedAt,
+                                  CompletableFuture<ChatMessageDto> result) {}
+}
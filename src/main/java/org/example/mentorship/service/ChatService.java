@@ -7,7 +7,7 @@ import java.util.List;
 public interface ChatService {
     List<ChatDto> getCurrentUserChats();
     ChatDto createNewChat(NewChatRequest request);
-    List<ChatMessageDto> getChatMessages(Integer chatId);
+    List<ChatMessageDto> getChatMessages(Integer chatId, Integer before, Integer after, Integer size);
     ChatMessageDto sendMessage(MessageRequest messageRequest);
     void markMessagesAsRead(Integer chatId);
 }
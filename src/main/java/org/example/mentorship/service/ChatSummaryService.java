@@ -0,0 +1,9 @@
+package org.example.mentorship.service;
+
+import java.util.List;
+
+public interface ChatSummaryService {
+    int rebuildAll();
+    List<Integer> findInconsistentChats();
+    int repair(List<Integer> chatIds);
+}
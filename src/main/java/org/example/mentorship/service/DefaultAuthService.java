@@ -5,10 +5,14 @@ import org.example.mentorship.dto.LoginRequest;
 import org.example.mentorship.dto.RegisterRequest;
 import org.example.mentorship.entity.Role;
 import org.example.mentorship.entity.User;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.*;
+import org.example.mentorship.security.AuthenticatedUserCache;
 import org.example.mentorship.security.CustomUserDetails;
 import org.example.mentorship.security.JwtTokenUtils;
+import org.example.mentorship.security.RevokedTokenRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -24,6 +28,10 @@ public class DefaultAuthService implements AuthService {
     private final RoleRepository roleRepository;
     private final JwtTokenUtils jwtTokenUtils;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final MentorRepository mentorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefaultAuthService(
@@ -31,13 +39,21 @@ public class DefaultAuthService implements AuthService {
             UserRepository userRepository,
             RoleRepository roleRepository,
             JwtTokenUtils jwtTokenUtils,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            AuthenticatedUserCache authenticatedUserCache,
+            RevokedTokenRegistry revokedTokenRegistry,
+            MentorRepository mentorRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.jwtTokenUtils = jwtTokenUtils;
         this.passwordEncoder = passwordEncoder;
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.mentorRepository = mentorRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public JwtResponse authenticate(LoginRequest authRequest) {
@@ -52,9 +68,10 @@ public class DefaultAuthService implements AuthService {
         String token = jwtTokenUtils.generateToken(userDetails);
 
         // Update user's online status
-        User user = userDetails.getUser();
-        user.setOnline(true);
-        userRepository.save(user);
+        userRepository.findById(userDetails.getUser().id()).ifPresent(user -> {
+            user.setOnline(true);
+            userRepository.save(user);
+        });
 
         return new JwtResponse(token);
     }
@@ -107,6 +124,11 @@ public class DefaultAuthService implements AuthService {
     public void deleteUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User with email " + email + " not found"));
+        mentorRepository.findByUser(user).ifPresent(mentor ->
+                eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId())));
         userRepository.delete(user);
+        authenticatedUserCache.evict(email);
+        // Claims-only authentication never looks the user up, so existing tokens must be denied explicitly
+        revokedTokenRegistry.revoke(user.getId());
     }
 }
@@ -1,19 +1,23 @@
 package org.example.mentorship.service;
 
+import org.example.mentorship.cache.ProfileSummaryCache;
 import org.example.mentorship.dto.*;
 import org.example.mentorship.entity.Chat;
 import org.example.mentorship.entity.ChatMessage;
 import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.Profile;
 import org.example.mentorship.entity.Student;
-import org.example.mentorship.entity.User;
+import org.example.mentorship.event.ChatMessageCommittedEvent;
 import org.example.mentorship.repository.*;
+import org.example.mentorship.security.AuthenticatedUser;
 import org.example.mentorship.security.CurrentUserProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -22,50 +26,62 @@ import java.util.stream.Collectors;
 @Service
 public class DefaultChatService implements ChatService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChatRepository chatRepository;
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatSummaryRepository chatSummaryRepository;
     private final StudentRepository studentRepository;
     private final MentorRepository mentorRepository;
     private final ProfileRepository profileRepository;
+    private final UserRepository userRepository;
+    private final ProfileSummaryCache profileSummaryCache;
     private final CurrentUserProvider currentUserProvider;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefaultChatService(ChatRepository chatRepository,
                               ChatMessageRepository chatMessageRepository,
+                              ChatSummaryRepository chatSummaryRepository,
                               StudentRepository studentRepository,
                               MentorRepository mentorRepository,
                               ProfileRepository profileRepository,
+                              UserRepository userRepository,
+                              ProfileSummaryCache profileSummaryCache,
                               CurrentUserProvider currentUserProvider,
-                              SimpMessagingTemplate messagingTemplate) {
+                              ApplicationEventPublisher eventPublisher) {
         this.chatRepository = chatRepository;
         this.chatMessageRepository = chatMessageRepository;
+        this.chatSummaryRepository = chatSummaryRepository;
         this.studentRepository = studentRepository;
         this.mentorRepository = mentorRepository;
         this.profileRepository = profileRepository;
+        this.userRepository = userRepository;
+        this.profileSummaryCache = profileSummaryCache;
         this.currentUserProvider = currentUserProvider;
-        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ChatDto> getCurrentUserChats() {
-        return currentUserProvider.getCurrentUser().map(user -> {
-            List<Chat> chats;
-            if ("ROLE_STUDENT".equals(user.getRole().getRoleName())) {
-                Student student = studentRepository.findByUser(user)
+        return currentUserProvider.getCurrentPrincipal().map(user -> {
+            List<ChatListView> chats;
+            if ("ROLE_STUDENT".equals(user.roleName())) {
+                Student student = studentRepository.findByUserId(user.id())
                         .orElseThrow(() -> new RuntimeException("Student not found"));
-                chats = chatRepository.findByStudentId(student.getId());
-            } else if ("ROLE_MENTOR".equals(user.getRole().getRoleName())) {
-                Mentor mentor = mentorRepository.findByUser(user)
+                chats = chatRepository.findChatListByStudentId(student.getId());
+            } else if ("ROLE_MENTOR".equals(user.roleName())) {
+                Mentor mentor = mentorRepository.findByUserId(user.id())
                         .orElseThrow(() -> new RuntimeException("Mentor not found"));
-                chats = chatRepository.findByMentorId(mentor.getId());
+                chats = chatRepository.findChatListByMentorId(mentor.getId());
             } else {
                 throw new RuntimeException("Invalid user role");
             }
+            // Rows are already ordered by the last activity in the chat
             return chats.stream()
-                    .map(this::mapChatToDTO)
-                    .sorted(Comparator.comparing(ChatDto::lastMessageTime).reversed())
+                    .map(this::mapChatListViewToDTO)
                     .collect(Collectors.toList());
         }).orElseThrow(() -> new RuntimeException("User not authenticated"));
     }
@@ -73,12 +89,12 @@ public class DefaultChatService implements ChatService {
     @Override
     @Transactional
     public ChatDto createNewChat(NewChatRequest request) {
-        return currentUserProvider.getCurrentUser().map(user -> {
-            if (!"ROLE_STUDENT".equals(user.getRole().getRoleName())) {
+        return currentUserProvider.getCurrentPrincipal().map(user -> {
+            if (!"ROLE_STUDENT".equals(user.roleName())) {
                 throw new RuntimeException("Only students can create chats");
             }
 
-            Student student = studentRepository.findByUser(user)
+            Student student = studentRepository.findByUserId(user.id())
                     .orElseThrow(() -> new RuntimeException("Student not found"));
 
             Mentor mentor = mentorRepository.findById(request.mentorId())
@@ -96,6 +112,7 @@ public class DefaultChatService implements ChatService {
                         newChat.setUpdatedAt(LocalDateTime.now());
 
                         Chat savedChat = chatRepository.save(newChat);
+                        chatSummaryRepository.createIfMissing(savedChat.getId());
                         return mapChatToDTO(savedChat);
                     });
         }).orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -103,8 +120,8 @@ public class DefaultChatService implements ChatService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ChatMessageDto> getChatMessages(Integer chatId) {
-        return currentUserProvider.getCurrentUser().map(user -> {
+    public List<ChatMessageDto> getChatMessages(Integer chatId, Integer before, Integer after, Integer size) {
+        return currentUserProvider.getCurrentPrincipal().map(user -> {
             Chat chat = chatRepository.findById(chatId)
                     .orElseThrow(() -> new RuntimeException("Chat not found"));
 
@@ -113,7 +130,29 @@ public class DefaultChatService implements ChatService {
                 throw new RuntimeException("You do not have access to this chat");
             }
 
-            return chatMessageRepository.findByChatIdOrderBySentAtAsc(chatId).stream()
+            if (before != null && after != null) {
+                throw new IllegalArgumentException("Only one of 'before' and 'after' can be specified");
+            }
+            // Otherwise indistinguishable from the end of the history
+            Integer cursor = before != null ? before : after;
+            if (cursor != null && !chatMessageRepository.existsByIdAndChatId(cursor, chatId)) {
+                throw new IllegalArgumentException("Message " + cursor + " does not belong to chat " + chatId);
+            }
+
+            int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+            // Pages are always returned in chronological order
+            List<ChatMessage> page;
+            if (after != null) {
+                page = chatMessageRepository.findPageAfter(chatId, after, limit);
+            } else {
+                page = new ArrayList<>(before != null
+                        ? chatMessageRepository.findPageBefore(chatId, before, limit)
+                        : chatMessageRepository.findLatestPage(chatId, limit));
+                Collections.reverse(page);
+            }
+
+            return page.stream()
                     .map(this::mapChatMessageToDTO)
                     .collect(Collectors.toList());
         }).orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -122,7 +161,7 @@ public class DefaultChatService implements ChatService {
     @Override
     @Transactional
     public ChatMessageDto sendMessage(MessageRequest messageRequest) {
-        return currentUserProvider.getCurrentUser().map(user -> {
+        return currentUserProvider.getCurrentPrincipal().map(user -> {
             Chat chat = chatRepository.findById(messageRequest.chatId())
                     .orElseThrow(() -> new RuntimeException("Chat not found"));
 
@@ -134,7 +173,7 @@ public class DefaultChatService implements ChatService {
             // Create and save the message
             ChatMessage message = new ChatMessage();
             message.setChat(chat);
-            message.setSender(user);
+            message.setSender(userRepository.getReferenceById(user.id()));
             message.setContent(messageRequest.content());
             message.setSentAt(LocalDateTime.now());
             message.setRead(false);
@@ -145,38 +184,35 @@ public class DefaultChatService implements ChatService {
             chat.setUpdatedAt(LocalDateTime.now());
             chatRepository.save(chat);
 
-            ChatMessageDto messageDTO = mapChatMessageToDTO(savedMessage);
+            // Move the chat summary to this message and count it as unread for the other participant
+            boolean sentByStudent = "ROLE_STUDENT".equals(user.roleName());
+            chatSummaryRepository.applyNewMessage(
+                    chat.getId(),
+                    savedMessage.getId(),
+                    savedMessage.getContent(),
+                    savedMessage.getSentAt(),
+                    sentByStudent ? 0 : 1,
+                    sentByStudent ? 1 : 0
+            );
 
-            // Get sender information for WebSocket message
-            Profile senderProfile = profileRepository.findByUserId(user.getId()).orElse(null);
-            String senderName = senderProfile != null ?
-                    senderProfile.getFirstName() + " " + senderProfile.getLastName() :
-                    "User";
+            // Sender information for the WebSocket message comes from the same cached summary
+            ChatMessageDto messageDTO = mapChatMessageToDTO(savedMessage);
 
             WebSocketMessageDto webSocketMessage = new WebSocketMessageDto(
                     "MESSAGE",
                     chat.getId(),
-                    user.getId(),
-                    senderName,
+                    user.id(),
+                    messageDTO.senderName(),
                     messageRequest.content(),
                     savedMessage.getSentAt(),
                     savedMessage.getId()
             );
 
-            // Send to the chat channel
-            messagingTemplate.convertAndSend("/topic/chat/" + chat.getId(), webSocketMessage);
-
-            // Send to users' private channels to update chat list
-            messagingTemplate.convertAndSendToUser(
-                    chat.getStudent().getUser().getEmail(),
-                    "/queue/chats",
-                    webSocketMessage
-            );
-            messagingTemplate.convertAndSendToUser(
-                    chat.getMentor().getUser().getEmail(),
-                    "/queue/chats",
-                    webSocketMessage
-            );
+            // Broadcast after commit from ChatMessageDispatcher, so the transaction only covers the writes
+            eventPublisher.publishEvent(new ChatMessageCommittedEvent(
+                    webSocketMessage,
+                    List.of(chat.getStudent().getUser().getEmail(), chat.getMentor().getUser().getEmail())
+            ));
 
             return messageDTO;
         }).orElseThrow(() -> new RuntimeException("User not authenticated"));
@@ -185,7 +221,7 @@ public class DefaultChatService implements ChatService {
     @Override
     @Transactional
     public void markMessagesAsRead(Integer chatId) {
-        currentUserProvider.getCurrentUser().ifPresent(user -> {
+        currentUserProvider.getCurrentPrincipal().ifPresent(user -> {
             Chat chat = chatRepository.findById(chatId)
                     .orElseThrow(() -> new RuntimeException("Chat not found"));
 
@@ -194,40 +230,42 @@ public class DefaultChatService implements ChatService {
                 throw new RuntimeException("You do not have access to this chat");
             }
 
-            // Find all unread messages from other users
-            List<ChatMessage> unreadMessages = chatMessageRepository.findByChatIdOrderBySentAtAsc(chatId)
-                    .stream()
-                    .filter(msg -> !msg.getSender().getId().equals(user.getId()) && !msg.isRead())
-                    .collect(Collectors.toList());
-
-            // Mark them as read
-            unreadMessages.forEach(msg -> {
-                msg.setRead(true);
-                chatMessageRepository.save(msg);
-            });
-
-            if (!unreadMessages.isEmpty()) {
-                // Send read notification via WebSocket
+            // Mark all unread messages from the other participant as read, up to the newest one seen now
+            chatMessageRepository.findNewestUnreadIncoming(chatId, user.id()).ifPresent(watermark -> {
+                int updatedCount = chatMessageRepository.markAsReadUpTo(
+                        chatId, user.id(), watermark.getSentAt(), watermark.getId());
+                if (updatedCount == 0) {
+                    return;
+                }
+
+                if ("ROLE_STUDENT".equals(user.roleName())) {
+                    chatSummaryRepository.subtractStudentUnread(chatId, updatedCount);
+                } else {
+                    chatSummaryRepository.subtractMentorUnread(chatId, updatedCount);
+                }
+
+                // Everything up to this message is read now, so clients don't need to refetch
                 WebSocketMessageDto readNotification = new WebSocketMessageDto(
                         "READ",
                         chatId,
-                        user.getId(),
+                        user.id(),
                         null,
                         null,
-                        LocalDateTime.now(),
-                        null
+                        watermark.getSentAt(),
+                        watermark.getId()
                 );
 
-                messagingTemplate.convertAndSend("/topic/chat/" + chatId, readNotification);
-            }
+                // Only to the chat channel, after commit and in order with the chat's messages
+                eventPublisher.publishEvent(new ChatMessageCommittedEvent(readNotification, List.of()));
+            });
         });
     }
 
-    private boolean userHasAccessToChat(User user, Chat chat) {
-        if ("ROLE_STUDENT".equals(user.getRole().getRoleName())) {
-            return chat.getStudent().getUser().getId().equals(user.getId());
-        } else if ("ROLE_MENTOR".equals(user.getRole().getRoleName())) {
-            return chat.getMentor().getUser().getId().equals(user.getId());
+    private boolean userHasAccessToChat(AuthenticatedUser user, Chat chat) {
+        if ("ROLE_STUDENT".equals(user.roleName())) {
+            return chat.getStudent().getUser().getId().equals(user.id());
+        } else if ("ROLE_MENTOR".equals(user.roleName())) {
+            return chat.getMentor().getUser().getId().equals(user.id());
         }
         return false;
     }
@@ -255,10 +293,10 @@ public class DefaultChatService implements ChatService {
 
         // Count unread messages for the current user
         long unreadCount = 0;
-        User currentUser = currentUserProvider.getCurrentUser().orElse(null);
+        AuthenticatedUser currentUser = currentUserProvider.getCurrentPrincipal().orElse(null);
         if (currentUser != null) {
             unreadCount = chat.getMessages().stream()
-                    .filter(msg -> !msg.getSender().getId().equals(currentUser.getId()) && !msg.isRead())
+                    .filter(msg -> !msg.getSender().getId().equals(currentUser.id()) && !msg.isRead())
                     .count();
         }
 
@@ -276,20 +314,42 @@ public class DefaultChatService implements ChatService {
         );
     }
 
+    private ChatDto mapChatListViewToDTO(ChatListView view) {
+        String studentName = view.getStudentFirstName() != null ?
+                view.getStudentFirstName() + " " + view.getStudentLastName() : "Student";
+        String mentorName = view.getMentorFirstName() != null ?
+                view.getMentorFirstName() + " " + view.getMentorLastName() : "Mentor";
+
+        String studentPictureUrl = view.getStudentPictureUrl() != null ? view.getStudentPictureUrl() : "";
+        String mentorPictureUrl = view.getMentorPictureUrl() != null ? view.getMentorPictureUrl() : "";
+
+        LocalDateTime lastMessageTime = view.getLastMessageTime() != null ?
+                view.getLastMessageTime() : view.getCreatedAt();
+        String lastMessageContent = view.getLastMessageContent() != null ? view.getLastMessageContent() : "";
+
+        return new ChatDto(
+                view.getChatId(),
+                view.getStudentId(),
+                studentName,
+                studentPictureUrl,
+                view.getMentorId(),
+                mentorName,
+                mentorPictureUrl,
+                lastMessageTime,
+                lastMessageContent,
+                view.getUnreadCount() != null ? view.getUnreadCount() : 0
+        );
+    }
+
     private ChatMessageDto mapChatMessageToDTO(ChatMessage message) {
-        Profile senderProfile = profileRepository.findByUserId(message.getSender().getId()).orElse(null);
-        String senderName = senderProfile != null ?
-                senderProfile.getFirstName() + " " + senderProfile.getLastName() :
-                "User";
-        String senderProfilePictureUrl = senderProfile != null ?
-                senderProfile.getProfilePictureUrl() : "";
+        ProfileSummaryDto senderProfile = profileSummaryCache.get(message.getSender().getId());
 
         return new ChatMessageDto(
                 message.getId(),
                 message.getChat().getId(),
                 message.getSender().getId(),
-                senderName,
-                senderProfilePictureUrl,
+                senderProfile.fullName(),
+                senderProfile.profilePictureUrl(),
                 message.getContent(),
                 message.getSentAt(),
                 message.isRead()
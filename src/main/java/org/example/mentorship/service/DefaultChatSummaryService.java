@@ -0,0 +1,44 @@
+package org.example.mentorship.service;
+
+import org.example.mentorship.repository.ChatSummaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+@Service
+public class DefaultChatSummaryService implements ChatSummaryService {
+
+    private final ChatSummaryRepository chatSummaryRepository;
+
+    @Autowired
+    public DefaultChatSummaryService(ChatSummaryRepository chatSummaryRepository) {
+        this.chatSummaryRepository = chatSummaryRepository;
+    }
+
+    // Recomputes the summary of every chat from its messages
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        chatSummaryRepository.createAllMissing();
+        chatSummaryRepository.lockAll();
+        return chatSummaryRepository.rebuildAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findInconsistentChats() {
+        return chatSummaryRepository.findInconsistentChatIds();
+    }
+
+    @Override
+    @Transactional
+    public int repair(List<Integer> chatIds) {
+        if (chatIds.isEmpty()) {
+            return 0;
+        }
+        chatSummaryRepository.createMissing(chatIds);
+        chatSummaryRepository.lock(chatIds);
+        return chatSummaryRepository.rebuild(chatIds);
+    }
+}
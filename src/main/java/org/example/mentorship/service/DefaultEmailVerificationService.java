@@ -5,6 +5,7 @@ import org.example.mentorship.entity.EmailVerification;
 import org.example.mentorship.entity.User;
 import org.example.mentorship.repository.EmailVerificationRepository;
 import org.example.mentorship.repository.UserRepository;
+import org.example.mentorship.security.AuthenticatedUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ public class DefaultEmailVerificationService implements EmailVerificationService
     private final EmailVerificationRepository emailVerificationRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Value("${app.verification.expiration-hours}")
     private int expirationHours;
@@ -25,10 +27,12 @@ public class DefaultEmailVerificationService implements EmailVerificationService
     public DefaultEmailVerificationService(
             EmailVerificationRepository emailVerificationRepository,
             UserRepository userRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            AuthenticatedUserCache authenticatedUserCache) {
         this.emailVerificationRepository = emailVerificationRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @Override
@@ -82,6 +86,7 @@ public class DefaultEmailVerificationService implements EmailVerificationService
         User user = verification.getUser();
         user.setEmailVerified(true);
         userRepository.save(user);
+        authenticatedUserCache.evict(user.getEmail());
 
         // Delete used token
         emailVerificationRepository.delete(verification);
@@ -1,95 +1,220 @@
 package org.example.mentorship.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.mentorship.cache.MentorCatalogCache;
+import org.example.mentorship.cache.MentorSearchKey;
 import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorFacetsDto;
 import org.example.mentorship.dto.MentorSearchRequest;
 import org.example.mentorship.entity.Mentor;
-import org.example.mentorship.entity.Profile;
-import org.example.mentorship.entity.User;
 import org.example.mentorship.repository.MentorRepository;
-import org.example.mentorship.repository.ProfileRepository;
+import org.example.mentorship.search.InMemoryMentorSearch;
+import org.example.mentorship.search.MentorSearchIndex;
+import org.example.mentorship.specification.MentorSortKey;
 import org.example.mentorship.specification.MentorSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import java.util.ArrayList;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class DefaultGuestMentorshipService implements GuestMentorshipService {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final MentorRepository mentorRepository;
-    private final ProfileRepository profileRepository;
+    private final InMemoryMentorSearch inMemoryMentorSearch;
+    private final MentorCatalogCache mentorCatalogCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter rowWriter;
 
     @Autowired
     public DefaultGuestMentorshipService(MentorRepository mentorRepository,
-                                         ProfileRepository profileRepository) {
+                                         InMemoryMentorSearch inMemoryMentorSearch,
+                                         MentorCatalogCache mentorCatalogCache,
+                                         PlatformTransactionManager transactionManager,
+                                         ObjectMapper objectMapper) {
         this.mentorRepository = mentorRepository;
-        this.profileRepository = profileRepository;
+        this.inMemoryMentorSearch = inMemoryMentorSearch;
+        this.mentorCatalogCache = mentorCatalogCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // The response stream stays open between rows
+        this.rowWriter = objectMapper.writerFor(MentorAllDataDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
+    // No surrounding transaction: the in-memory path must not touch a connection,
+    // repository reads open their own read-only transactions
     @Override
-    @Transactional(readOnly = true)
-    public ResponseEntity<List<MentorAllDataDto>> getAllMentors() {
-        List<Mentor> mentors = mentorRepository.findAll();
-        return ResponseEntity.ok(convertToDtoList(mentors));
+    public ResponseEntity<List<MentorAllDataDto>> getAllMentors(Integer page, Integer size, boolean includeTotal,
+                                                                String ifNoneMatch) {
+        MentorCatalogCache.CatalogPage catalogPage = catalogPage(new MentorSearchRequest(), Sort.unsorted(),
+                page, size, includeTotal);
+
+        if (matchesEtag(ifNoneMatch, catalogPage.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalogPage.etag()).build();
+        }
+
+        // Browsers may keep the response but must revalidate it with If-None-Match
+        return withTotal(ResponseEntity.ok()
+                .eTag(catalogPage.etag())
+                .cacheControl(CacheControl.noCache()), catalogPage);
     }
 
+    // A POST is never answered with 304 (RFC 9110, 13.1.2), so it has no conditional handling
     @Override
-    @Transactional(readOnly = true)
     public ResponseEntity<List<MentorAllDataDto>> searchMentors(MentorSearchRequest searchRequest) {
-        Specification<Mentor> spec = MentorSpecifications.matchesGeneralQuery(searchRequest.getQuery())
-                .and(MentorSpecifications.hasSpecialization(searchRequest.getSpecialization()))
-                .and(MentorSpecifications.hasPriceRange(searchRequest.getMinRate(), searchRequest.getMaxRate()))
-                .and(MentorSpecifications.hasMinExperience(searchRequest.getMinExperience()))
-                .and(MentorSpecifications.hasMinRating(searchRequest.getMinRating()));
+        MentorCatalogCache.CatalogPage catalogPage = catalogPage(searchRequest, createSortFromRequest(searchRequest),
+                searchRequest.getPage(), searchRequest.getSize(), searchRequest.isIncludeTotal());
+        return withTotal(ResponseEntity.ok(), catalogPage);
+    }
+
+    @Override
+    public ResponseEntity<MentorFacetsDto> getMentorFacets(MentorSearchRequest searchRequest) {
+        MentorSearchIndex index = inMemoryMentorSearch.getIndex();
+        if (index != null) {
+            return ResponseEntity.ok(index.facets(searchRequest));
+        }
+        List<MentorAllDataDto> mentors = mentorRepository.findCatalog(createSpecification(searchRequest), Sort.unsorted());
+        return ResponseEntity.ok(MentorSearchIndex.facetsOf(mentors));
+    }
 
-        // Define sorting
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamMentors(MentorSearchRequest searchRequest) {
+        Specification<Mentor> spec = createSpecification(searchRequest);
         Sort sort = createSortFromRequest(searchRequest);
 
-        // Perform search with specification and sorting
-        List<Mentor> mentors = mentorRepository.findAll(spec, sort);
+        // One JSON object per line, written as rows come off the cursor
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MentorAllDataDto> rows = mentorRepository.streamCatalog(spec, sort, STREAM_FETCH_SIZE)) {
+                writeRows(rows.iterator(), outputStream);
+            }
+        });
 
-        return ResponseEntity.ok(convertToDtoList(mentors));
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
-    private Sort createSortFromRequest(MentorSearchRequest searchRequest) {
-        String sortBy = searchRequest.getSortBy() != null ? searchRequest.getSortBy() : "averageRating";
-        String direction = searchRequest.getSortDirection() != null ? searchRequest.getSortDirection() : "DESC";
+    private MentorCatalogCache.CatalogPage catalogPage(MentorSearchRequest filters, Sort sort,
+                                                      Integer page, Integer size, boolean includeTotal) {
+        int limit = size == null ? Integer.MAX_VALUE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long requestedOffset = size == null ? 0 : (long) Math.max(0, page == null ? 0 : page) * limit;
+        if (requestedOffset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Page " + page + " is out of range for size " + limit);
+        }
+        int offset = (int) requestedOffset;
+        // Offset paging needs a deterministic order, search sorts already end with the id
+        Sort effectiveSort = size == null || sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+        boolean byRelevance = isRelevanceSort(filters);
+
+        MentorSearchKey key = MentorSearchKey.of(filters, byRelevance, effectiveSort, offset, limit, includeTotal);
+        return mentorCatalogCache.get(key,
+                () -> loadCatalogPage(filters, effectiveSort, byRelevance, offset, limit, includeTotal));
+    }
+
+    private ResponseEntity<List<MentorAllDataDto>> withTotal(ResponseEntity.BodyBuilder response,
+                                                             MentorCatalogCache.CatalogPage catalogPage) {
+        if (catalogPage.total() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(catalogPage.total()));
+        }
+        return response.body(catalogPage.mentors());
+    }
+
+    private MentorCatalogCache.CatalogPage loadCatalogPage(MentorSearchRequest filters, Sort sort, boolean byRelevance,
+                                                          int offset, int limit, boolean includeTotal) {
+        // The index cannot rank by relevance, those searches always go to the database
+        MentorSearchIndex index = inMemoryMentorSearch.getIndex();
+        if (index != null && !byRelevance && MentorSearchIndex.supports(sort)) {
+            List<MentorAllDataDto> matches = index.search(filters, sort);
+            List<MentorAllDataDto> mentors = matches.subList(Math.min(offset, matches.size()),
+                    (int) Math.min((long) offset + limit, matches.size()));
+            return new MentorCatalogCache.CatalogPage(mentors, includeTotal ? (long) matches.size() : null);
+        }
+
+        Specification<Mentor> spec = createSpecification(filters);
+        if (limit == Integer.MAX_VALUE) {
+            List<MentorAllDataDto> mentors = mentorRepository.findCatalog(spec, sort);
+            return new MentorCatalogCache.CatalogPage(mentors, includeTotal ? (long) mentors.size() : null);
+        }
 
-        return Sort.by(
-                direction.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC,
-                sortBy);
+        List<MentorAllDataDto> mentors = mentorRepository.findCatalogPage(spec, sort, offset, limit);
+        return new MentorCatalogCache.CatalogPage(mentors, includeTotal ? mentorRepository.countCatalog(spec) : null);
+    }
+
+    // If-None-Match may carry several ETags, possibly weak, or "*"
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private List<MentorAllDataDto> convertToDtoList(List<Mentor> mentors) {
-        List<MentorAllDataDto> mentorDtos = new ArrayList<>();
-
-        for (Mentor mentor : mentors) {
-            User user = mentor.getUser();
-            Profile profile = profileRepository.findByUser(user).orElse(null);
-
-            if (profile != null) {
-                MentorAllDataDto mentorDto = new MentorAllDataDto(
-                        mentor.getId(),
-                        profile.getProfilePictureUrl(),
-                        profile.getFirstName(),
-                        profile.getLastName(),
-                        profile.getBio(),
-                        profile.getAge(),
-                        mentor.getHourlyRate(),
-                        mentor.getSpecialization(),
-                        mentor.getExperienceYears(),
-                        mentor.getAverageRating(),
-                        mentor.getMentorTargetStudents()
-                );
-
-                mentorDtos.add(mentorDto);
+    private void writeRows(Iterator<MentorAllDataDto> rows, OutputStream outputStream) {
+        try {
+            while (rows.hasNext()) {
+                rowWriter.writeValue(outputStream, rows.next());
+                outputStream.write('\n');
             }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to stream mentors", e);
+        }
+    }
+
+    private Specification<Mentor> createSpecification(MentorSearchRequest searchRequest) {
+        Specification<Mentor> spec = MentorSpecifications.matchesGeneralQuery(searchRequest.getQuery())
+                .and(MentorSpecifications.hasSpecialization(searchRequest.getSpecialization()))
+                .and(MentorSpecifications.hasPriceRange(searchRequest.getMinRate(), searchRequest.getMaxRate()))
+                .and(MentorSpecifications.hasMinExperience(searchRequest.getMinExperience()))
+                .and(MentorSpecifications.hasMinRating(searchRequest.getMinRating()));
+
+        if (isRelevanceSort(searchRequest)) {
+            spec = spec.and(MentorSpecifications.orderedByRelevance(searchRequest.getQuery()));
         }
+        return spec;
+    }
+
+    // Only whitelisted, indexed sort keys are accepted, anything else is a 400
+    private Sort createSortFromRequest(MentorSearchRequest searchRequest) {
+        MentorSortKey sortKey = MentorSortKey.fromValue(searchRequest.getSortBy());
+        Sort.Direction direction = MentorSortKey.directionOf(searchRequest.getSortDirection());
+
+        // Relevance without a query has nothing to rank, fall back to the default order
+        if (sortKey == MentorSortKey.RELEVANCE && !isRelevanceSort(searchRequest)) {
+            sortKey = MentorSortKey.AVERAGE_RATING;
+        }
+        return sortKey.toSort(direction);
+    }
 
-        return mentorDtos;
+    private boolean isRelevanceSort(MentorSearchRequest searchRequest) {
+        return MentorSortKey.RELEVANCE.getValue().equals(searchRequest.getSortBy())
+                && searchRequest.getQuery() != null && !searchRequest.getQuery().isBlank();
     }
 }
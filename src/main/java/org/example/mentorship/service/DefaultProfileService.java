@@ -1,5 +1,6 @@
 package org.example.mentorship.service;
 
+import org.example.mentorship.cache.ProfileSummaryCache;
 import org.example.mentorship.dto.MentorInfoDto;
 import org.example.mentorship.dto.ProfileDtoRequest;
 import org.example.mentorship.dto.StudentInfoDto;
@@ -7,6 +8,7 @@ import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.Profile;
 import org.example.mentorship.entity.Student;
 import org.example.mentorship.entity.User;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.MentorRepository;
 import org.example.mentorship.repository.ProfileRepository;
 import org.example.mentorship.repository.StudentRepository;
@@ -14,6 +16,7 @@ import org.example.mentorship.repository.UserRepository;
 import org.example.mentorship.security.CurrentUserProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -55,6 +58,8 @@ public class DefaultProfileService implements ProfileService {
     private final StudentRepository studentRepository;
     private final MentorRepository mentorRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultProfileService.class);
 
@@ -68,7 +73,9 @@ public class DefaultProfileService implements ProfileService {
                                  EmailVerificationService emailVerificationService,
                                  StudentRepository studentRepository,
                                  MentorRepository mentorRepository,
-                                 CurrentUserProvider currentUserProvider) {
+                                 CurrentUserProvider currentUserProvider,
+                                 ProfileSummaryCache profileSummaryCache,
+                                 ApplicationEventPublisher eventPublisher) {
         this.emailVerificationService = emailVerificationService;
         this.profileRepository = profileRepository;
         this.userRepository = userRepository;
@@ -76,6 +83,8 @@ public class DefaultProfileService implements ProfileService {
         this.studentRepository = studentRepository;
         this.mentorRepository = mentorRepository;
         this.currentUserProvider = currentUserProvider;
+        this.profileSummaryCache = profileSummaryCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -98,6 +107,7 @@ public class DefaultProfileService implements ProfileService {
         profile.setProfilePictureUrl(profilePictureUrl);
 
         profileRepository.save(profile);
+        profileSummaryCache.evict(user.getId());
 
         // Determine the user's role and save the corresponding data
         String roleName = user.getRole().getRoleName();
@@ -245,6 +255,8 @@ public class DefaultProfileService implements ProfileService {
         mentor.setAverageRating(BigDecimal.ZERO);
 
         mentorRepository.save(mentor);
+        mentorRepository.refreshSearchScore(mentor.getId());
+        eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId()));
     }
 
     private void deleteOldProfilePictureFromS3(String oldProfilePictureUrl) {
@@ -290,6 +302,9 @@ public class DefaultProfileService implements ProfileService {
                 // Update and save
                 profile.setProfilePictureUrl(newProfilePictureUrl);
                 profileRepository.save(profile);
+                profileSummaryCache.evict(user.getId());
+                mentorRepository.findByUser(user).ifPresent(mentor ->
+                        eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId())));
 
                 // Delete old only if exists and different from new (prevent deleting overwritten)
                 if (oldProfilePictureUrl != null && !oldProfilePictureUrl.isEmpty() && !oldProfilePictureUrl.equals(newProfilePictureUrl)) {
@@ -1,42 +1,50 @@
 package org.example.mentorship.service;
 
+import org.example.mentorship.dto.RatingDistributionDto;
 import org.example.mentorship.dto.ReviewRequest;
 import org.example.mentorship.dto.ReviewResponse;
 import org.example.mentorship.dto.ReviewUpdateRequest;
 import org.example.mentorship.entity.*;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.MentorRepository;
 import org.example.mentorship.repository.ReviewRepository;
 import org.example.mentorship.repository.StudentRepository;
 import org.example.mentorship.security.CurrentUserProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class DefaultReviewService implements ReviewService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewRepository reviewRepository;
     private final MentorRepository mentorRepository;
     private final StudentRepository studentRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefaultReviewService(
             ReviewRepository reviewRepository,
             MentorRepository mentorRepository,
             StudentRepository studentRepository,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.mentorRepository = mentorRepository;
         this.studentRepository = studentRepository;
         this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -65,12 +73,14 @@ public class DefaultReviewService implements ReviewService {
             }
 
             // Check if there is already a review from this student for this mentor
-            Optional<Review> existingReview = reviewRepository.findByStudentAndMentor(student, mentor);
+            Optional<Review> existingReview = reviewRepository.findForUpdateByStudentAndMentor(student, mentor);
 
             Review review;
+            Integer previousRating = null;
             if (existingReview.isPresent()) {
                 // Update existing review
                 review = existingReview.get();
+                previousRating = review.getRating();
                 review.setComment(reviewRequest.comment());
                 review.setRating(reviewRequest.rating());
             } else {
@@ -86,7 +96,7 @@ public class DefaultReviewService implements ReviewService {
             reviewRepository.save(review);
 
             // Update the mentor's average rating
-            updateMentorAverageRating(mentor);
+            updateMentorAverageRating(mentor, previousRating, reviewRequest.rating());
 
             return ResponseEntity.ok().body("Review successfully saved");
         });
@@ -94,66 +104,45 @@ public class DefaultReviewService implements ReviewService {
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<List<ReviewResponse>> getMentorReviews(Integer mentorId) {
-        // Get the mentor
-        Optional<Mentor> mentorOpt = mentorRepository.findById(mentorId);
-        if (mentorOpt.isEmpty()) {
+    public ResponseEntity<List<ReviewResponse>> getMentorReviews(Integer mentorId, Integer before, Integer size) {
+        // Check that the mentor exists
+        if (!mentorRepository.existsById(mentorId)) {
             return ResponseEntity.badRequest().body(null);
         }
 
-        Mentor mentor = mentorOpt.get();
-
-        // Get all reviews for the mentor
-        List<Review> reviews = reviewRepository.findByMentorOrderByCreatedAtDesc(mentor);
-        List<ReviewResponse> reviewResponses = new ArrayList<>();
-
-        for (Review review : reviews) {
-            Student student = review.getStudent();
-            User studentUser = student.getUser();
-            Profile studentProfile = studentUser.getProfile();
+        Limit limit = Limit.of(size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
 
-            String firstName = "";
-            String lastName = "";
-            String profilePicture = "";
-
-            if (studentProfile != null) {
-                firstName = studentProfile.getFirstName();
-                lastName = studentProfile.getLastName();
-                profilePicture = studentProfile.getProfilePictureUrl();
-            }
+        // One query per page, student names and pictures are projected directly
+        List<ReviewResponse> reviews = before == null
+                ? reviewRepository.findLatestPage(mentorId, limit)
+                : reviewRepository.findPageBefore(mentorId, before, limit);
 
-            ReviewResponse reviewResponse = new ReviewResponse(
-                    review.getId(),
-                    profilePicture,
-                    firstName,
-                    lastName,
-                    review.getComment(),
-                    review.getRating(),
-                    review.getCreatedAt()
-            );
-
-            reviewResponses.add(reviewResponse);
-        }
+        return ResponseEntity.ok(reviews);
+    }
 
-        return ResponseEntity.ok(reviewResponses);
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<RatingDistributionDto> getRatingDistribution(Integer mentorId) {
+        // One row read from the counters kept on the mentor
+        return mentorRepository.findRatingDistribution(mentorId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Transactional
-    protected void updateMentorAverageRating(Mentor mentor) {
-        // Get the average rating from the database
-        Double averageRating = reviewRepository.calculateAverageRatingForMentor(mentor);
-
-        if (averageRating != null) {
-            // Round to two decimal places
-            BigDecimal bd = new BigDecimal(averageRating).setScale(2, RoundingMode.HALF_UP);
-            mentor.setAverageRating(bd);
-        } else {
-            // If there are no reviews, set rating to 0
-            mentor.setAverageRating(BigDecimal.ZERO);
+    protected void updateMentorAverageRating(Mentor mentor, Integer removedRating, Integer addedRating) {
+        // Nothing that feeds the rating changed
+        if (Objects.equals(removedRating, addedRating)) {
+            return;
         }
 
-        // Save the updated mentor rating
-        mentorRepository.save(mentor);
+        int removed = removedRating != null ? removedRating : 0;
+        int added = addedRating != null ? addedRating : 0;
+        int countDelta = (addedRating != null ? 1 : 0) - (removedRating != null ? 1 : 0);
+
+        // Apply the delta to the stored count, sum and star buckets; the average and search score are recomputed in the same statement
+        mentorRepository.applyReviewDelta(mentor.getId(), countDelta, added - removed, removed, added);
+        eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId()));
     }
 
     @Override
@@ -169,7 +158,7 @@ public class DefaultReviewService implements ReviewService {
             Student student = studentOpt.get();
 
             // Find the review
-            Optional<Review> reviewOpt = reviewRepository.findById(reviewId);
+            Optional<Review> reviewOpt = reviewRepository.findByIdForUpdate(reviewId);
             if (reviewOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -188,12 +177,13 @@ public class DefaultReviewService implements ReviewService {
             }
 
             // Update the review
+            Integer previousRating = review.getRating();
             review.setComment(reviewRequest.comment());
             review.setRating(reviewRequest.rating());
             reviewRepository.save(review);
 
             // Update the mentor's average rating
-            updateMentorAverageRating(review.getMentor());
+            updateMentorAverageRating(review.getMentor(), previousRating, reviewRequest.rating());
 
             return ResponseEntity.ok().body("Review successfully updated");
         });
@@ -212,7 +202,7 @@ public class DefaultReviewService implements ReviewService {
             Student student = studentOpt.get();
 
             // Find the review
-            Optional<Review> reviewOpt = reviewRepository.findById(reviewId);
+            Optional<Review> reviewOpt = reviewRepository.findByIdForUpdate(reviewId);
             if (reviewOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -227,12 +217,13 @@ public class DefaultReviewService implements ReviewService {
 
             // Save the mentor for updating the rating after deletion
             Mentor mentor = review.getMentor();
+            Integer rating = review.getRating();
 
             // Delete the review
             reviewRepository.delete(review);
 
             // Update the mentor's average rating
-            updateMentorAverageRating(mentor);
+            updateMentorAverageRating(mentor, rating, null);
 
             return ResponseEntity.ok().body("Review successfully deleted");
         });
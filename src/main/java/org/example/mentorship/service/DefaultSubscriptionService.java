@@ -4,10 +4,12 @@ import org.example.mentorship.dto.PaymentRequest;
 import org.example.mentorship.dto.PaymentResponse;
 import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.SubscriptionPayment;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.MentorRepository;
 import org.example.mentorship.repository.SubscriptionPaymentRepository;
 import org.example.mentorship.security.CurrentUserProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,15 +24,18 @@ public class DefaultSubscriptionService implements SubscriptionService {
     private final MentorRepository mentorRepository;
     private final SubscriptionPaymentRepository paymentRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefaultSubscriptionService(
             MentorRepository mentorRepository,
             SubscriptionPaymentRepository paymentRepository,
-            CurrentUserProvider currentUserProvider) {
+            CurrentUserProvider currentUserProvider,
+            ApplicationEventPublisher eventPublisher) {
         this.mentorRepository = mentorRepository;
         this.paymentRepository = paymentRepository;
         this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -68,6 +73,9 @@ public class DefaultSubscriptionService implements SubscriptionService {
             // Subscription valid for 30 days
             mentor.setSubscriptionExpiryDate(LocalDateTime.now().plusDays(30));
             mentorRepository.save(mentor);
+            // Subscribed mentors are boosted in the search ranking
+            mentorRepository.refreshSearchScore(mentor.getId());
+            eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId()));
 
             return ResponseEntity.ok(new PaymentResponse(
                     true, "Subscription successfully activated", transactionId));
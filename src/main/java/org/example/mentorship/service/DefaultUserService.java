@@ -1,13 +1,16 @@
 package org.example.mentorship.service;
 
+import org.example.mentorship.cache.ProfileSummaryCache;
 import org.example.mentorship.dto.UpdateProfileRequest;
 import org.example.mentorship.entity.Profile;
 import org.example.mentorship.entity.User;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
 import org.example.mentorship.repository.MentorRepository;
 import org.example.mentorship.repository.ProfileRepository;
 import org.example.mentorship.repository.StudentRepository;
 import org.example.mentorship.security.CurrentUserProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -25,16 +28,22 @@ public class DefaultUserService implements UserService {
     private final MentorRepository mentorRepository;
     private final ProfileRepository profileRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public DefaultUserService(StudentRepository studentRepository,
                               MentorRepository mentorRepository,
                               ProfileRepository profileRepository,
-                              CurrentUserProvider currentUserProvider) {
+                              CurrentUserProvider currentUserProvider,
+                              ProfileSummaryCache profileSummaryCache,
+                              ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.mentorRepository = mentorRepository;
         this.profileRepository = profileRepository;
         this.currentUserProvider = currentUserProvider;
+        this.profileSummaryCache = profileSummaryCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -115,6 +124,7 @@ public class DefaultUserService implements UserService {
         if (request.age() != null) profile.setAge(request.age());
 
         profileRepository.save(profile);
+        profileSummaryCache.evict(user.getId());
     }
 
     private void updateStudentProfile(User user, UpdateProfileRequest request) {
@@ -140,6 +150,9 @@ public class DefaultUserService implements UserService {
                 mentor.setMentorTargetStudents(request.mentorTargetStudents());
 
             mentorRepository.save(mentor);
+            mentorRepository.refreshSearchScore(mentor.getId());
+            // Profile fields were updated as well, the mentor is re-read after commit
+            eventPublisher.publishEvent(new MentorCatalogChangedEvent(mentor.getId()));
         });
     }
 
@@ -1,14 +1,19 @@
 package org.example.mentorship.service;
 
 import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorFacetsDto;
 import org.example.mentorship.dto.MentorSearchRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 public interface GuestMentorshipService {
 
-    ResponseEntity<List<MentorAllDataDto>> getAllMentors();
+    ResponseEntity<List<MentorAllDataDto>> getAllMentors(Integer page, Integer size, boolean includeTotal,
+                                                         String ifNoneMatch);
     ResponseEntity<List<MentorAllDataDto>> searchMentors(MentorSearchRequest searchRequest);
+    ResponseEntity<StreamingResponseBody> streamMentors(MentorSearchRequest searchRequest);
+    ResponseEntity<MentorFacetsDto> getMentorFacets(MentorSearchRequest searchRequest);
 
 }
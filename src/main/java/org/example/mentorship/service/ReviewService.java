@@ -1,5 +1,6 @@
 package org.example.mentorship.service;
 
+import org.example.mentorship.dto.RatingDistributionDto;
 import org.example.mentorship.dto.ReviewRequest;
 import org.example.mentorship.dto.ReviewResponse;
 import org.example.mentorship.dto.ReviewUpdateRequest;
@@ -9,7 +10,8 @@ import java.util.List;
 
 public interface ReviewService {
     ResponseEntity<?> createReview(ReviewRequest reviewRequest);
-    ResponseEntity<List<ReviewResponse>> getMentorReviews(Integer mentorId);
+    ResponseEntity<List<ReviewResponse>> getMentorReviews(Integer mentorId, Integer before, Integer size);
+    ResponseEntity<RatingDistributionDto> getRatingDistribution(Integer mentorId);
     ResponseEntity<?> updateReview(Integer reviewId, ReviewUpdateRequest reviewRequest);
     ResponseEntity<?> deleteReview(Integer reviewId);
 }
@@ -0,0 +1,55 @@
+package org.example.mentorship.specification;
+
+import org.springframework.data.domain.Sort;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Sort orders accepted by the mentor search. Each one is backed by a (column, id_mentor) index
+// from the V9/V10 migrations; the id tie-break follows the sort direction so the index can be scanned either way
+public enum MentorSortKey {
+    AVERAGE_RATING("averageRating", "averageRating"),
+    HOURLY_RATE("hourlyRate", "hourlyRate"),
+    EXPERIENCE_YEARS("experienceYears", "experienceYears"),
+    // Subscription boost blended with rating, review count and experience (mentors.search_score)
+    RANKING("ranking", "searchScore"),
+    // Full-text rank of the query, ordered by MentorSpecifications.orderedByRelevance
+    RELEVANCE("relevance", null);
+
+    private final String value;
+    private final String property;
+
+    MentorSortKey(String value, String property) {
+        this.value = value;
+        this.property = property;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static MentorSortKey fromValue(String value) {
+        if (value == null) {
+            return AVERAGE_RATING;
+        }
+        return Arrays.stream(values())
+                .filter(key -> key.value.equals(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sortBy '" + value + "', expected one of: "
+                        + Arrays.stream(values()).map(MentorSortKey::getValue).collect(Collectors.joining(", "))));
+    }
+
+    public static Sort.Direction directionOf(String value) {
+        if (value == null) {
+            return Sort.Direction.DESC;
+        }
+        return Sort.Direction.fromOptionalString(value)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sortDirection '" + value + "', expected ASC or DESC"));
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        if (property == null) {
+            return Sort.by(Sort.Direction.ASC, "id"); // Ties after the rank
+        }
+        return Sort.by(direction, property, "id");
+    }
+}
@@ -1,14 +1,50 @@
 package org.example.mentorship.specification;
 
+import org.example.mentorship.config.FullTextSearchFunctionContributor;
 import org.example.mentorship.entity.Mentor;
 import org.example.mentorship.entity.Profile;
 import org.example.mentorship.entity.User;
 import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class MentorSpecifications {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    // PostgreSQL rejects tsvector and tsquery lexemes of this many bytes or more
+    private static final int MAX_LEXEME_BYTES = 2047;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}+#.\\-]+");
+    private static final Pattern WORD_LEADING = Pattern.compile("^[+#\\-]+");
+    private static final Pattern WORD_TRAILING = Pattern.compile("[.\\-]+$");
+    private static final Pattern ALPHANUMERIC = Pattern.compile("[\\p{L}\\p{N}]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Returns the mentor -> user -> profile join, reusing it if the query already has one
+    @SuppressWarnings("unchecked")
+    public static Join<User, Profile> profileJoin(Root<Mentor> root) {
+        Join<Mentor, User> userJoin = root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("user"))
+                .map(join -> (Join<Mentor, User>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("user"));
+
+        return userJoin.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("profile"))
+                .map(join -> (Join<User, Profile>) join)
+                .findFirst()
+                .orElseGet(() -> userJoin.join("profile"));
+    }
+
     // Returns a specification to filter mentors by specialization
     public static Specification<Mentor> hasSpecialization(String specialization) {
         return (root, query, criteriaBuilder) -> {
@@ -17,7 +53,7 @@ public class MentorSpecifications {
             }
             return criteriaBuilder.like(
                     criteriaBuilder.lower(root.get("specialization")),
-                    "%" + specialization.toLowerCase() + "%"); // Case-insensitive partial match
+                    "%" + escapeLike(specialization.toLowerCase()) + "%", LIKE_ESCAPE); // Case-insensitive partial match
         };
     }
 
@@ -60,27 +96,92 @@ public class MentorSpecifications {
         };
     }
 
-    // Returns a specification to filter mentors by a general search query
+    // Returns a specification to filter mentors by a general search query.
+    // Every word of the query must prefix-match a word of the name, specialization, target students or bio
     public static Specification<Mentor> matchesGeneralQuery(String query) {
         return (root, criteriaQuery, criteriaBuilder) -> {
-            if (query == null || query.isEmpty()) {
+            if (!words(query).stream().allMatch(MentorSpecifications::fitsLexeme)) {
+                return criteriaBuilder.disjunction(); // Longer than any indexed word, nothing can match
+            }
+            String tsQuery = toPrefixTsQuery(query);
+            if (tsQuery == null) {
                 return criteriaBuilder.conjunction(); // Returns true if no query is provided
             }
 
-            String likePattern = "%" + query.toLowerCase() + "%"; // Case-insensitive search pattern
-
-            // Join with User and Profile entities for additional fields
-            Join<Mentor, User> userJoin = root.join("user");
-            Join<User, Profile> profileJoin = userJoin.join("profile");
+            // Served by the GIN index on mentors.search_vector
+            return criteriaBuilder.isTrue(criteriaBuilder.function(
+                    FullTextSearchFunctionContributor.FTS_MATCH, Boolean.class,
+                    root.get("searchVector"), criteriaBuilder.literal(tsQuery)));
+        };
+    }
 
-            // Match query against multiple fields (specialization, first name, last name, bio, target students)
-            return criteriaBuilder.or(
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("specialization")), likePattern),
-                    criteriaBuilder.like(criteriaBuilder.lower(profileJoin.get("firstName")), likePattern),
-                    criteriaBuilder.like(criteriaBuilder.lower(profileJoin.get("lastName")), likePattern),
-                    criteriaBuilder.like(criteriaBuilder.lower(profileJoin.get("bio")), likePattern),
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("mentorTargetStudents")), likePattern)
-            );
+    // Returns a specification that orders mentors by full-text relevance for the query (best first).
+    // Its ordering is placed before the Sort passed to the catalog query
+    public static Specification<Mentor> orderedByRelevance(String query) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            String tsQuery = toPrefixTsQuery(query);
+            if (tsQuery != null) {
+                criteriaQuery.orderBy(criteriaBuilder.desc(criteriaBuilder.function(
+                        FullTextSearchFunctionContributor.FTS_RANK, Float.class,
+                        root.get("searchVector"), criteriaBuilder.literal(tsQuery))));
+            }
+            return criteriaBuilder.conjunction();
         };
     }
+
+    // Lowercased words of a query, the unit of full-text matching. A word is a run of letters, digits and + # . -,
+    // so "node.js", "c++" and "c#" stay whole; leading + # - and trailing . - are dropped.
+    // Must split text like search_tsvector in the V15 migration
+    public static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text.toLowerCase());
+        while (matcher.find()) {
+            String word = WORD_TRAILING.matcher(WORD_LEADING.matcher(matcher.group()).replaceAll("")).replaceAll("");
+            if (ALPHANUMERIC.matcher(word).find()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // Words of an indexed text: every word plus the letter and digit parts of words with symbols,
+    // so "node" and "js" find "node.js" too. Words too long for a lexeme are skipped, as in search_tsvector
+    public static List<String> documentWords(String text) {
+        List<String> documentWords = new ArrayList<>();
+        for (String word : words(text)) {
+            if (fitsLexeme(word)) {
+                documentWords.add(word);
+            }
+            if (NON_ALPHANUMERIC.matcher(word).find()) {
+                Arrays.stream(NON_ALPHANUMERIC.split(word))
+                        .filter(part -> !part.isEmpty() && fitsLexeme(part))
+                        .forEach(documentWords::add);
+            }
+        }
+        return documentWords;
+    }
+
+    // Builds a tsquery like "'node.js':* & 'backend':*" from free text, or null if it has no words that fit a lexeme.
+    // Words only contain letters, digits and + # . -, so user input can't inject tsquery operators or quotes
+    static String toPrefixTsQuery(String query) {
+        List<String> words = words(query).stream().filter(MentorSpecifications::fitsLexeme).toList();
+        if (words.isEmpty()) {
+            return null;
+        }
+        return words.stream()
+                .map(word -> "'" + word + "':*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static boolean fitsLexeme(String word) {
+        return word.getBytes(StandardCharsets.UTF_8).length < MAX_LEXEME_BYTES;
+    }
+
+    // User input is matched literally, '%' and '_' are not wildcards
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
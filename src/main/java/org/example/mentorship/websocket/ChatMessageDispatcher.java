@@ -0,0 +1,90 @@
+package org.example.mentorship.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.mentorship.dto.WebSocketMessageDto;
+import org.example.mentorship.event.ChatMessageCommittedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Delivers committed chat messages off the request thread, so a slow broker never holds a transaction.
+// Each chat is pinned to one single-threaded stripe, which keeps its messages in order
+@Slf4j
+@Component
+public class ChatMessageDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ExecutorService[] stripes;
+    private final Timer deliveryTimer;
+
+    @Autowired
+    public ChatMessageDispatcher(SimpMessagingTemplate messagingTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.chat.dispatch.threads}") int threads,
+                                 @Value("${app.chat.dispatch.queue-capacity}") int queueCapacity) {
+        this.messagingTemplate = messagingTemplate;
+        this.stripes = new ExecutorService[threads];
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ChatDispatch-");
+        for (int i = 0; i < threads; i++) {
+            // A full queue makes the committing thread deliver itself instead of dropping the message
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        // Time from commit to the last broker send, the delay a recipient sees
+        this.deliveryTimer = Timer.builder("app.chat.dispatch.delay")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onMessageCommitted(ChatMessageCommittedEvent event) {
+        long committedAt = System.nanoTime();
+        stripeFor(event.message().chatId()).execute(() -> {
+            try {
+                deliver(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to deliver message {} of chat {}",
+                        event.message().messageId(), event.message().chatId(), e);
+            } finally {
+                deliveryTimer.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ExecutorService stripe : stripes) {
+            stripe.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void deliver(ChatMessageCommittedEvent event) {
+        WebSocketMessageDto message = event.message();
+
+        // Send to the chat channel
+        messagingTemplate.convertAndSend("/topic/chat/" + message.chatId(), message);
+
+        // Send to users' private channels to update chat list
+        for (String recipient : event.recipients()) {
+            messagingTemplate.convertAndSendToUser(recipient, "/queue/chats", message);
+        }
+    }
+
+    private ExecutorService stripeFor(Integer chatId) {
+        return stripes[Math.floorMod(chatId, stripes.length)];
+    }
+}
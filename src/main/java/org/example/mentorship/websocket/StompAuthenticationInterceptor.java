@@ -0,0 +1,124 @@
+package org.example.mentorship.websocket;
+
+import io.jsonwebtoken.Claims;
+import org.example.mentorship.security.CustomUserDetails;
+import org.example.mentorship.security.JwtAuthenticator;
+import org.example.mentorship.security.JwtTokenUtils;
+import org.example.mentorship.security.RevokedTokenRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import java.util.Date;
+import java.util.Map;
+
+// Authenticates a STOMP session once, from the bearer token of its CONNECT frame. Later frames carry the session
+// user, which is put into the SecurityContext while a @MessageMapping handler runs, so services see the usual
+// current user. SEND frames of unauthenticated sessions are rejected, and so are those sent after the CONNECT
+// token has expired or been revoked, which also closes the session
+@Component
+public class StompAuthenticationInterceptor implements ExecutorChannelInterceptor {
+
+    static final String USER_ID_ATTRIBUTE = "stompAuth.userId";
+    static final String ISSUED_AT_ATTRIBUTE = "stompAuth.issuedAt";
+    static final String EXPIRES_AT_ATTRIBUTE = "stompAuth.expiresAt";
+
+    private final JwtTokenUtils jwtTokenUtils;
+    private final JwtAuthenticator jwtAuthenticator;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    @Autowired
+    public StompAuthenticationInterceptor(JwtTokenUtils jwtTokenUtils, JwtAuthenticator jwtAuthenticator,
+                                          RevokedTokenRegistry revokedTokenRegistry) {
+        this.jwtTokenUtils = jwtTokenUtils;
+        this.jwtAuthenticator = jwtAuthenticator;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            // Connecting without a token stays allowed for subscriptions; a bad token is answered
+            // with a STOMP ERROR frame and the session is closed
+            String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
+            if (authorizationHeader != null) {
+                accessor.setUser(authenticate(authorizationHeader, accessor.getSessionAttributes()));
+            }
+        } else if (accessor.getCommand() == StompCommand.SEND) {
+            checkToken(message, accessor);
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor != null && accessor.getUser() instanceof Authentication authentication) {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The session keeps the CONNECT token for its whole life, so every SEND re-checks what the REST filter
+    // checks per request: the token must not have expired or been revoked since
+    private void checkToken(Message<?> message, StompHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (accessor.getUser() == null || sessionAttributes == null
+                || !(sessionAttributes.get(USER_ID_ATTRIBUTE) instanceof Integer userId)
+                || !(sessionAttributes.get(EXPIRES_AT_ATTRIBUTE) instanceof Date expiresAt)) {
+            throw new MessagingException(message, "Not authenticated");
+        }
+
+        if (!new Date().before(expiresAt)) {
+            throw new MessagingException(message, "Token expired");
+        }
+        if (revokedTokenRegistry.isRevoked(userId, (Date) sessionAttributes.get(ISSUED_AT_ATTRIBUTE))) {
+            throw new MessagingException(message, "Token revoked");
+        }
+    }
+
+    private Authentication authenticate(String authorizationHeader, Map<String, Object> sessionAttributes) {
+        if (!authorizationHeader.startsWith("Bearer ")) {
+            throw new MessagingException("Expected a bearer token");
+        }
+
+        Claims claims;
+        UsernamePasswordAuthenticationToken authentication;
+        try {
+            claims = jwtTokenUtils.parseClaims(authorizationHeader.substring(7));
+            authentication = jwtAuthenticator.authenticate(claims);
+        } catch (Exception e) {
+            throw new MessagingException("Invalid token", e);
+        }
+
+        if (authentication == null || sessionAttributes == null) {
+            throw new MessagingException("Invalid token");
+        }
+
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        sessionAttributes.put(USER_ID_ATTRIBUTE, userDetails.getUser().id());
+        sessionAttributes.put(ISSUED_AT_ATTRIBUTE, claims.getIssuedAt());
+        sessionAttributes.put(EXPIRES_AT_ATTRIBUTE, claims.getExpiration());
+        return authentication;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.mentorship.websocket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.mentorship.cache.ChatParticipantCache;
+import org.example.mentorship.dto.WebSocketMessageDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Relays typing events at most once per interval for each (chat, user); keystrokes in between are dropped.
+// Access comes from ChatParticipantCache, so typing doesn't reach the database once a chat is cached
+@Component
+public class TypingIndicatorCoalescer {
+
+    private final ChatParticipantCache chatParticipantCache;
+    private final SimpMessagingTemplate messagingTemplate;
+    // Present while the (chat, user) pair is inside its interval; expiry also cleans up idle typists
+    private final Cache<TypingKey, Boolean> recentlyBroadcast;
+
+    @Autowired
+    public TypingIndicatorCoalescer(ChatParticipantCache chatParticipantCache,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    @Value("${app.chat.typing.interval}") Duration interval,
+                                    @Value("${app.chat.typing.max-tracked}") long maxTracked) {
+        this.chatParticipantCache = chatParticipantCache;
+        this.messagingTemplate = messagingTemplate;
+        this.recentlyBroadcast = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(interval)
+                .build();
+    }
+
+    // Returns whether the event was broadcast
+    public boolean onTyping(Integer chatId, Integer userId) {
+        boolean participant = chatParticipantCache.get(chatId)
+                .map(participants -> participants.includes(userId))
+                .orElse(false);
+        if (!participant) {
+            throw new RuntimeException("You do not have access to this chat");
+        }
+
+        if (recentlyBroadcast.asMap().putIfAbsent(new TypingKey(chatId, userId), Boolean.TRUE) != null) {
+            return false;
+        }
+
+        messagingTemplate.convertAndSend("/topic/chat/" + chatId, new WebSocketMessageDto(
+                "TYPING",
+                chatId,
+                userId,
+                null,
+                null,
+                LocalDateTime.now(),
+                null
+        ));
+        return true;
+    }
+
+    private record TypingKey(Integer chatId, Integer userId) {}
+}
@@ -0,0 +1,23 @@
+-- Предвычисленный рейтинг ментора для сортировки поиска (MentorSortKey.RANKING).
+-- Байесовское среднее оценок (к 3.5 при малом числе отзывов) + число отзывов + опыт + буст за подписку
+CREATE FUNCTION mentor_search_score(p_average_rating NUMERIC, p_review_count BIGINT,
+                                    p_experience_years INTEGER, p_subscription_active BOOLEAN)
+    RETURNS DOUBLE PRECISION
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT (coalesce(p_average_rating, 0) * coalesce(p_review_count, 0) + 3.5 * 5) / (coalesce(p_review_count, 0) + 5)
+        + 0.5 * ln(1 + coalesce(p_review_count, 0))
+        + least(coalesce(p_experience_years, 0), 20) / 20.0
+        + CASE WHEN coalesce(p_subscription_active, false) THEN 5 ELSE 0 END
+$$;
+
+ALTER TABLE mentors ADD COLUMN search_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Заполнение для существующих менторов
+UPDATE mentors m
+SET search_score = mentor_search_score(m.average_rating,
+                                       (SELECT COUNT(*) FROM reviews r WHERE r.id_mentor = m.id_mentor),
+                                       m.experience_years, m.subscription_active);
+
+CREATE INDEX idx_mentors_search_score_id ON mentors(search_score, id_mentor);
@@ -0,0 +1,13 @@
+-- Агрегаты отзывов на менторе: обновляются атомарно дельтами вместо AVG по всем отзывам
+ALTER TABLE mentors ADD COLUMN review_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE mentors ADD COLUMN rating_sum INTEGER NOT NULL DEFAULT 0;
+
+-- Заполнение по существующим отзывам
+UPDATE mentors m
+SET review_count = agg.review_count,
+    rating_sum = agg.rating_sum,
+    average_rating = ROUND(agg.rating_sum::NUMERIC / agg.review_count, 2)
+FROM (SELECT id_mentor, COUNT(*) AS review_count, SUM(review_rating) AS rating_sum
+      FROM reviews
+      GROUP BY id_mentor) agg
+WHERE m.id_mentor = agg.id_mentor;
@@ -0,0 +1,23 @@
+-- Количество отзывов по каждой оценке (1-5) для гистограммы рейтинга ментора
+ALTER TABLE mentors ADD COLUMN rating_1_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE mentors ADD COLUMN rating_2_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE mentors ADD COLUMN rating_3_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE mentors ADD COLUMN rating_4_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE mentors ADD COLUMN rating_5_count INTEGER NOT NULL DEFAULT 0;
+
+-- Заполнение по существующим отзывам
+UPDATE mentors m
+SET rating_1_count = agg.rating_1_count,
+    rating_2_count = agg.rating_2_count,
+    rating_3_count = agg.rating_3_count,
+    rating_4_count = agg.rating_4_count,
+    rating_5_count = agg.rating_5_count
+FROM (SELECT id_mentor,
+             COUNT(*) FILTER (WHERE review_rating = 1) AS rating_1_count,
+             COUNT(*) FILTER (WHERE review_rating = 2) AS rating_2_count,
+             COUNT(*) FILTER (WHERE review_rating = 3) AS rating_3_count,
+             COUNT(*) FILTER (WHERE review_rating = 4) AS rating_4_count,
+             COUNT(*) FILTER (WHERE review_rating = 5) AS rating_5_count
+      FROM reviews
+      GROUP BY id_mentor) agg
+WHERE m.id_mentor = agg.id_mentor;
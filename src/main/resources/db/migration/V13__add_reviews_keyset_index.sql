@@ -0,0 +1,9 @@
+-- Дата отзыва участвует в курсоре, поэтому не может быть NULL
+UPDATE reviews SET review_created_at = CURRENT_TIMESTAMP WHERE review_created_at IS NULL;
+ALTER TABLE reviews ALTER COLUMN review_created_at SET NOT NULL;
+
+-- Составной индекс для постраничной (keyset) загрузки отзывов ментора, новые первыми
+CREATE INDEX idx_reviews_mentor_created_at_id ON reviews(id_mentor, review_created_at DESC, id_review DESC);
+
+-- Покрывается левым префиксом нового индекса
+DROP INDEX idx_reviews_mentor_id;
@@ -0,0 +1,3 @@
+-- Hibernate берёт идентификаторы сообщений блоками по 50 (pooled), что позволяет пакетную вставку.
+-- Следующее значение последовательности считается верхней границей блока, поэтому пересечений с существующими id нет
+ALTER SEQUENCE chat_messages_id_chat_message_seq INCREMENT BY 50;
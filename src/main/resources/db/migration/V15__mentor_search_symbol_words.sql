@@ -0,0 +1,48 @@
+-- Разбиение текста на слова для полнотекстового поиска, одинаковое с MentorSpecifications.words/documentWords.
+-- Парсер to_tsvector('simple') превращает "C++" и "C#" в "c", поэтому слова выделяются здесь:
+-- слово — последовательность букв, цифр и символов + # . -; ведущие + # - и завершающие . - отбрасываются.
+-- Для слов с символами добавляются их буквенно-цифровые части ("node.js" -> "node.js", "node", "js")
+CREATE FUNCTION search_tsvector(p_text TEXT, p_weight TEXT)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT coalesce(string_agg(format('''%s'':%s%s', w.word, t.pos, p_weight), ' ')::tsvector, ''::tsvector)
+    FROM (
+        SELECT regexp_replace(regexp_replace(m.token[1], '^[-+#]+', ''), '[.-]+$', '') AS word, m.pos
+        FROM regexp_matches(lower(coalesce(p_text, '')), '[[:alnum:]+#.-]+', 'g') WITH ORDINALITY AS m(token, pos)
+    ) t
+    CROSS JOIN LATERAL (
+        SELECT t.word
+        UNION
+        SELECT part
+        FROM regexp_split_to_table(t.word, '[^[:alnum:]]+') AS part
+        WHERE t.word ~ '[^[:alnum:]]' AND part <> ''
+    ) w
+    -- Лексемы от 2047 байт tsvector не принимает (to_tsvector их пропускает), пропускаем и здесь
+    WHERE t.word ~ '[[:alnum:]]' AND octet_length(w.word) < 2047
+$$;
+
+-- Лексемы вставляются как есть (без повторного разбора), веса полей прежние
+CREATE OR REPLACE FUNCTION mentor_search_document(p_specialization TEXT, p_target_students TEXT,
+                                                  p_first_name TEXT, p_last_name TEXT, p_bio TEXT)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT search_tsvector(coalesce(p_first_name, '') || ' ' || coalesce(p_last_name, ''), 'A')
+        || search_tsvector(p_specialization, 'B')
+        || search_tsvector(p_target_students, 'C')
+        || search_tsvector(p_bio, 'D')
+$$;
+
+-- Пересчёт для существующих менторов
+UPDATE mentors m
+SET search_vector = mentor_search_document(m.specialization, m.mentor_target_students,
+                                           p.first_name, p.last_name, p.bio)
+FROM profiles p
+WHERE p.id_user = m.id_user;
+
+UPDATE mentors m
+SET search_vector = mentor_search_document(m.specialization, m.mentor_target_students, NULL, NULL, NULL)
+WHERE NOT EXISTS (SELECT 1 FROM profiles p WHERE p.id_user = m.id_user);
@@ -0,0 +1,37 @@
+-- Денормализованная сводка чата: последнее сообщение и счётчики непрочитанных
+CREATE TABLE chat_summaries (
+            id_chat INTEGER PRIMARY KEY,
+            id_last_message INTEGER,
+            last_message_content TEXT,
+            last_message_sent_at TIMESTAMP,
+            student_unread_count INTEGER NOT NULL DEFAULT 0,
+            mentor_unread_count INTEGER NOT NULL DEFAULT 0,
+            FOREIGN KEY (id_chat) REFERENCES chats(id_chat) ON DELETE CASCADE,
+            FOREIGN KEY (id_last_message) REFERENCES chat_messages(id_chat_message) ON DELETE SET NULL
+);
+
+-- Заполнение сводок для уже существующих чатов
+INSERT INTO chat_summaries (id_chat, id_last_message, last_message_content, last_message_sent_at,
+                            student_unread_count, mentor_unread_count)
+SELECT c.id_chat,
+       lm.id_chat_message,
+       lm.message_content,
+       lm.message_sent_at,
+       COALESCE(u.student_unread, 0),
+       COALESCE(u.mentor_unread, 0)
+FROM chats c
+JOIN students s ON s.id_student = c.id_student
+JOIN mentors m ON m.id_mentor = c.id_mentor
+LEFT JOIN LATERAL (
+    SELECT cm.id_chat_message, cm.message_content, cm.message_sent_at
+    FROM chat_messages cm
+    WHERE cm.id_chat = c.id_chat
+    ORDER BY cm.message_sent_at DESC, cm.id_chat_message DESC
+    LIMIT 1
+) lm ON true
+LEFT JOIN LATERAL (
+    SELECT COUNT(*) FILTER (WHERE cm.id_sender <> s.id_user) AS student_unread,
+           COUNT(*) FILTER (WHERE cm.id_sender <> m.id_user) AS mentor_unread
+    FROM chat_messages cm
+    WHERE cm.id_chat = c.id_chat AND cm.is_read = false
+) u ON true;
@@ -0,0 +1,5 @@
+-- Составной индекс для постраничной (keyset) загрузки истории чата
+CREATE INDEX idx_chat_messages_chat_sent_at_id ON chat_messages(id_chat, message_sent_at, id_chat_message);
+
+-- Покрывается левым префиксом нового индекса
+DROP INDEX idx_chat_messages_chat_id;
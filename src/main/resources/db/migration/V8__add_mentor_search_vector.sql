@@ -0,0 +1,63 @@
+-- Документ полнотекстового поиска ментора: имя и фамилия важнее специализации, био — наименее важно.
+-- Конфигурация 'simple' без стемминга: профили пишутся на разных языках, а поиск идёт по префиксам слов
+CREATE FUNCTION mentor_search_document(p_specialization TEXT, p_target_students TEXT,
+                                       p_first_name TEXT, p_last_name TEXT, p_bio TEXT)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(p_first_name, '') || ' ' || coalesce(p_last_name, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(p_specialization, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(p_target_students, '')), 'C')
+        || setweight(to_tsvector('simple', coalesce(p_bio, '')), 'D')
+$$;
+
+ALTER TABLE mentors ADD COLUMN search_vector tsvector;
+
+-- Пересчёт при изменении полей ментора
+CREATE FUNCTION mentors_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    p profiles%ROWTYPE;
+BEGIN
+    SELECT * INTO p FROM profiles WHERE id_user = NEW.id_user;
+    NEW.search_vector := mentor_search_document(NEW.specialization, NEW.mentor_target_students,
+                                                p.first_name, p.last_name, p.bio);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_mentors_search_vector
+    BEFORE INSERT OR UPDATE OF specialization, mentor_target_students, id_user ON mentors
+    FOR EACH ROW EXECUTE FUNCTION mentors_search_vector_trigger();
+
+-- Пересчёт при изменении профиля пользователя-ментора
+CREATE FUNCTION profiles_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    UPDATE mentors m
+    SET search_vector = mentor_search_document(m.specialization, m.mentor_target_students,
+                                               NEW.first_name, NEW.last_name, NEW.bio)
+    WHERE m.id_user = NEW.id_user;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_profiles_search_vector
+    AFTER INSERT OR UPDATE OF first_name, last_name, bio ON profiles
+    FOR EACH ROW EXECUTE FUNCTION profiles_search_vector_trigger();
+
+-- Заполнение для существующих менторов
+UPDATE mentors m
+SET search_vector = mentor_search_document(m.specialization, m.mentor_target_students,
+                                           p.first_name, p.last_name, p.bio)
+FROM profiles p
+WHERE p.id_user = m.id_user;
+
+UPDATE mentors
+SET search_vector = mentor_search_document(specialization, mentor_target_students, NULL, NULL, NULL)
+WHERE search_vector IS NULL;
+
+CREATE INDEX idx_mentors_search_vector ON mentors USING GIN (search_vector);
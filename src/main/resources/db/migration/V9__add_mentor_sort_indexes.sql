@@ -0,0 +1,5 @@
+-- Индексы под допустимые сортировки поиска менторов (MentorSortKey).
+-- id_mentor — стабильный tie-break; обратный проход индекса даёт обратное направление
+CREATE INDEX idx_mentors_average_rating_id ON mentors(average_rating, id_mentor);
+CREATE INDEX idx_mentors_hourly_rate_id ON mentors(hourly_rate, id_mentor);
+CREATE INDEX idx_mentors_experience_years_id ON mentors(experience_years, id_mentor);
@@ -0,0 +1,203 @@
+package org.example.mentorship.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.repository.UserRepository;
+import org.example.mentorship.security.AuthenticatedUserCache;
+import org.example.mentorship.security.CustomUserDetails;
+import org.example.mentorship.security.JwtAuthenticator;
+import org.example.mentorship.security.JwtTokenUtils;
+import org.example.mentorship.security.RevokedTokenRegistry;
+import org.example.mentorship.websocket.StompAuthenticationInterceptor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// Two application instances relaying to one embedded STOMP broker: a client connected to the first
+// receives what the second sends, including /user destinations of a user it has no session for
+class WebSocketBrokerRelayTest {
+
+    private static final String EMAIL = "student@example.org";
+
+    @TempDir
+    static Path brokerDirectory;
+
+    private static EmbeddedActiveMQ broker;
+    private static ServletWebServerApplicationContext nodeA;
+    private static ServletWebServerApplicationContext nodeB;
+
+    @BeforeAll
+    static void startBrokerAndNodes() throws Exception {
+        int brokerPort = freePort();
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setBrokerInstance(brokerDirectory.toFile());
+        configuration.addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + brokerPort
+                + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+
+        nodeA = startNode(brokerPort);
+        nodeB = startNode(brokerPort);
+    }
+
+    @AfterAll
+    static void stopBrokerAndNodes() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void messagesSentOnOneNodeReachSubscribersOfAnother() throws Exception {
+        BlockingQueue<String> chatTopic = new LinkedBlockingQueue<>();
+        BlockingQueue<String> userQueue = new LinkedBlockingQueue<>();
+
+        StompSession session = connect(nodeA);
+        session.subscribe("/topic/chat/7", collectingTo(chatTopic));
+        session.subscribe("/user/queue/chats", collectingTo(userQueue));
+
+        SimpMessagingTemplate templateB = nodeB.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+
+        // Subscriptions reach the broker asynchronously, so keep sending until one arrives
+        await().atMost(Duration.ofSeconds(20)).pollInterval(Duration.ofMillis(200)).until(() -> {
+            templateB.convertAndSend("/topic/chat/7", "topic message");
+            return chatTopic.poll() != null;
+        });
+        await().atMost(Duration.ofSeconds(20)).pollInterval(Duration.ofMillis(200)).until(() -> {
+            templateB.convertAndSendToUser(EMAIL, "/queue/chats", "user message");
+            return userQueue.poll() != null;
+        });
+
+        assertTrue(session.isConnected());
+        session.disconnect();
+    }
+
+    private static ServletWebServerApplicationContext startNode(int brokerPort) {
+        // As arguments, so they take precedence over application.properties
+        return (ServletWebServerApplicationContext) new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--jwt.secret=" + Base64.getEncoder().encodeToString(
+                                "relay-test-secret-key-relay-test-secret-key".getBytes()),
+                        "--jwt.lifetime=1h",
+                        "--jwt.authentication-mode=claims",
+                        "--app.websocket.broker=relay",
+                        "--app.websocket.relay.host=127.0.0.1",
+                        "--app.websocket.relay.port=" + brokerPort);
+    }
+
+    private static StompSession connect(ServletWebServerApplicationContext node) throws Exception {
+        Role role = new Role();
+        role.setRoleName("ROLE_STUDENT");
+        User user = new User();
+        user.setId(1);
+        user.setEmail(EMAIL);
+        user.setRole(role);
+        user.setEmailVerified(true);
+        String token = node.getBean(JwtTokenUtils.class).generateToken(new CustomUserDetails(user));
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new StringMessageConverter());
+
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.setOrigin("http://localhost:4200");
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        String url = "ws://localhost:" + node.getWebServer().getPort() + "/ws/websocket";
+        return client.connectAsync(url, handshakeHeaders, connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static StompFrameHandler collectingTo(BlockingQueue<String> received) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        };
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    // Just the web server and the WebSocket/STOMP configuration of the application
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({
+            WebSocketConfig.class,
+            StompAuthenticationInterceptor.class,
+            JwtTokenUtils.class,
+            JwtAuthenticator.class,
+            RevokedTokenRegistry.class
+    })
+    static class Node {
+
+        @Bean
+        AuthenticatedUserCache authenticatedUserCache() {
+            return new AuthenticatedUserCache(mock(UserRepository.class), new SimpleMeterRegistry(), 10,
+                    Duration.ofMinutes(1));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.mentorship.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.entity.Profile;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Free-text search through the search_vector written by the migrations' triggers: terms with dots and symbols
+// must be matched whole, like the substring search they replaced. Skipped when Docker is not available
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class MentorFullTextSearchTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MentorRepository mentorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName("ROLE_MENTOR");
+        entityManager.persist(role);
+
+        persistMentor(role, "Anna", "Node.js", "Backend with Node.js and TypeScript");
+        persistMentor(role, "Boris", "C++", "Game engines in C++");
+        persistMentor(role, "Vera", "C#", "Unity and C# scripting");
+        persistMentor(role, "Gleb", ".NET", "ASP.NET web services");
+        persistMentor(role, "Dina", "Java", "Spring and JavaScript");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Node.js      | Anna",
+            "node         | Anna",
+            "js           | Anna",
+            "C++          | Boris",
+            "c++ engines  | Boris",
+            "C#           | Vera",
+            "c            | Boris Vera",
+            ".NET         | Gleb",
+            "asp.net      | Gleb",
+            "net          | Gleb",
+            "java         | Dina",
+            "javascript   | Dina",
+            "'C++, C#'    | ''"
+    })
+    void matchesTermsWithSymbolsWhole(String query, String expectedNames) {
+        Set<String> expected = Arrays.stream(expectedNames.split(" "))
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+
+        Set<String> byFilter = mentorRepository.findCatalog(
+                        MentorSpecifications.matchesGeneralQuery(query), Sort.by("id")).stream()
+                .map(MentorAllDataDto::firstName)
+                .collect(Collectors.toSet());
+        assertEquals(expected, byFilter, query);
+
+        // Ranking uses the same query, so it must accept the same input
+        Set<String> byRelevance = mentorRepository.findCatalog(
+                        MentorSpecifications.matchesGeneralQuery(query)
+                                .and(MentorSpecifications.orderedByRelevance(query)), Sort.by("id")).stream()
+                .map(MentorAllDataDto::firstName)
+                .collect(Collectors.toSet());
+        assertEquals(expected, byRelevance, query);
+    }
+
+    // Lexemes of 2047 bytes or more are rejected by PostgreSQL, so such words are skipped instead of failing the save
+    @Test
+    void skipsWordsTooLongForLexeme() {
+        Role role = entityManager.createQuery("SELECT r FROM Role r WHERE r.roleName = 'ROLE_MENTOR'", Role.class)
+                .getSingleResult();
+        String bio = "Kotlin " + "x".repeat(2047) + " " + "y".repeat(2100) + ".kt";
+        persistMentor(role, "Egor", "Android", bio);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("kotlin", "kt"), MentorSpecifications.documentWords(bio));
+        assertEquals(Set.of("Egor"), firstNames("kotlin"));
+        assertEquals(Set.of("Egor"), firstNames("kt"));
+        assertEquals(Set.of(), firstNames("x".repeat(2047)));
+    }
+
+    private Set<String> firstNames(String query) {
+        return mentorRepository.findCatalog(MentorSpecifications.matchesGeneralQuery(query), Sort.by("id")).stream()
+                .map(MentorAllDataDto::firstName)
+                .collect(Collectors.toSet());
+    }
+
+    private void persistMentor(Role role, String name, String specialization, String bio) {
+        User user = new User();
+        user.setRole(role);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+
+        // The profile goes first, the mentor trigger reads it to build the search document
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setFirstName(name);
+        profile.setLastName("Mentor");
+        profile.setBio(bio);
+        profile.setAge(30);
+        profile.setProfilePictureUrl("https://example.com/" + name + ".png");
+        entityManager.persist(profile);
+        entityManager.flush();
+
+        Mentor mentor = new Mentor();
+        mentor.setUser(user);
+        mentor.setSpecialization(specialization);
+        mentor.setHourlyRate(BigDecimal.valueOf(20));
+        mentor.setExperienceYears(3);
+        mentor.setMentorTargetStudents("Beginners");
+        entityManager.persist(mentor);
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.mentorship.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.entity.Profile;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs against an in-memory H2 schema generated from the entities (migrations are PostgreSQL-only)
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MentorRepositoryTest {
+
+    @Autowired
+    private MentorRepository mentorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName("MENTOR");
+        entityManager.persist(role);
+
+        for (int i = 0; i < 5; i++) {
+            persistMentor(role, "mentor" + i, i % 2 == 0 ? "Java" : "Python", BigDecimal.valueOf(4 + i * 0.2));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findCatalog_allMentors_singleStatement() {
+        List<MentorAllDataDto> mentors = mentorRepository.findCatalog(null, Sort.unsorted());
+
+        assertEquals(5, mentors.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findCatalog_withSpecificationAndSort_singleStatement() {
+        Specification<Mentor> spec = MentorSpecifications.hasMinRating(BigDecimal.ZERO)
+                .and(MentorSpecifications.hasSpecialization("Java"));
+
+        List<MentorAllDataDto> mentors = mentorRepository.findCatalog(spec,
+                Sort.by(Sort.Direction.DESC, "averageRating"));
+
+        assertEquals(3, mentors.size());
+        assertEquals("mentor4", mentors.get(0).firstName());
+        assertEquals("mentor0", mentors.get(2).firstName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findCatalogPage_returnsRequestedSliceAndCount() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "averageRating").and(Sort.by("id"));
+
+        List<MentorAllDataDto> secondPage = mentorRepository.findCatalogPage(null, sort, 2, 2);
+
+        assertEquals(2, secondPage.size());
+        assertEquals("mentor2", secondPage.get(0).firstName());
+        assertEquals("mentor1", secondPage.get(1).firstName());
+        assertEquals(5, mentorRepository.countCatalog(null));
+    }
+
+    private void persistMentor(Role role, String name, String specialization, BigDecimal rating) {
+        User user = new User();
+        user.setRole(role);
+        user.setEmail(name + "@example.com");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setFirstName(name);
+        profile.setLastName("Lastname");
+        profile.setBio("Bio");
+        profile.setAge(30);
+        profile.setProfilePictureUrl("https://example.com/" + name + ".png");
+        entityManager.persist(profile);
+
+        Mentor mentor = new Mentor();
+        mentor.setUser(user);
+        mentor.setSpecialization(specialization);
+        mentor.setHourlyRate(BigDecimal.valueOf(20));
+        mentor.setExperienceYears(3);
+        mentor.setAverageRating(rating);
+        mentor.setMentorTargetStudents("Beginners");
+        entityManager.persist(mentor);
+    }
+}
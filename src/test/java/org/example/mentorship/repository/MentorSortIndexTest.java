@@ -0,0 +1,87 @@
+package org.example.mentorship.repository;
+
+import org.example.mentorship.specification.MentorSortKey;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every whitelisted sort must be answered by an index scan, never by a Sort node over the table.
+// Runs the real migrations against PostgreSQL, skipped when Docker is not available
+@Testcontainers(disabledWithoutDocker = true)
+class MentorSortIndexTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "averageRating", "average_rating",
+            "hourlyRate", "hourly_rate",
+            "experienceYears", "experience_years",
+            "searchScore", "search_score",
+            "id", "id_mentor"
+    );
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    static Stream<Arguments> sorts() {
+        return Arrays.stream(MentorSortKey.values())
+                .filter(key -> key != MentorSortKey.RELEVANCE)
+                .flatMap(key -> Stream.of(Sort.Direction.values()).map(direction -> Arguments.of(key, direction)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sorts")
+    void sortIsServedByIndex(MentorSortKey sortKey, Sort.Direction direction) throws SQLException {
+        String orderBy = sortKey.toSort(direction).stream()
+                .map(order -> COLUMNS.get(order.getProperty()) + " " + order.getDirection())
+                .collect(Collectors.joining(", "));
+
+        String plan = explain("SELECT id_mentor FROM mentors ORDER BY " + orderBy + " LIMIT 20");
+
+        assertTrue(plan.contains("Index Scan") || plan.contains("Index Only Scan"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    // The tables are empty, so sorting is disabled to see whether the planner *can* avoid it
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_sort = off");
+            statement.execute("SET enable_seqscan = off");
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.mentorship.search;
+
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorSearchRequest;
+import org.example.mentorship.event.MentorCatalogChangedEvent;
+import org.example.mentorship.repository.MentorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryMentorSearchTest {
+
+    private final MentorRepository mentorRepository = mock(MentorRepository.class);
+    private final InMemoryMentorSearch search = new InMemoryMentorSearch(mentorRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(search, "enabled", true);
+    }
+
+    @Test
+    void changeCommittedDuringLoadIsApplied() {
+        // The change commits after the full read has taken its snapshot
+        when(mentorRepository.findCatalog(isNull(), any())).thenAnswer(invocation -> {
+            search.onCatalogChanged(new MentorCatalogChangedEvent(1));
+            return List.of(mentor(1, "Java"));
+        });
+        when(mentorRepository.findCatalog(notNull(), any())).thenReturn(List.of(mentor(1, "Kotlin")));
+
+        search.load();
+
+        assertEquals(List.of("Kotlin"), specializations());
+    }
+
+    @Test
+    void fullReloadRequestedDuringLoadReadsAgain() {
+        when(mentorRepository.findCatalog(isNull(), any()))
+                .thenAnswer(invocation -> {
+                    search.onCatalogChanged(new MentorCatalogChangedEvent(null));
+                    return List.of(mentor(1, "Java"));
+                })
+                .thenReturn(List.of(mentor(1, "Java"), mentor(2, "Go")));
+
+        search.load();
+
+        assertEquals(List.of("Java", "Go"), specializations());
+    }
+
+    @Test
+    void changeBeforeStartupLoadIsLeftToIt() {
+        search.onCatalogChanged(new MentorCatalogChangedEvent(1));
+        when(mentorRepository.findCatalog(isNull(), any())).thenReturn(List.of(mentor(1, "Java")));
+
+        search.load();
+
+        assertEquals(List.of("Java"), specializations());
+    }
+
+    private List<String> specializations() {
+        return search.getIndex().search(new MentorSearchRequest(), Sort.by("id")).stream()
+                .map(MentorAllDataDto::specialization)
+                .toList();
+    }
+
+    private static MentorAllDataDto mentor(int id, String specialization) {
+        return new MentorAllDataDto(id, "https://example.com/" + id + ".png", "Name", "Surname", "", 30,
+                BigDecimal.TEN, specialization, 1, BigDecimal.ONE, null, null);
+    }
+}
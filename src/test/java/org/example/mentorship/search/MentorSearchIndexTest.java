@@ -0,0 +1,255 @@
+package org.example.mentorship.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.mentorship.cache.MentorCatalogCache;
+import org.example.mentorship.dto.MentorAllDataDto;
+import org.example.mentorship.dto.MentorFacetsDto;
+import org.example.mentorship.dto.MentorSearchRequest;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.entity.Profile;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.repository.MentorRepository;
+import org.example.mentorship.service.DefaultGuestMentorshipService;
+import org.example.mentorship.specification.MentorSortKey;
+import org.example.mentorship.specification.MentorSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Differential test: the index built from findCatalog must return exactly what findCatalog itself returns
+// on PostgreSQL for the same filters and sort, for a random catalog and random requests.
+// Runs the real migrations, skipped when Docker is not available
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class MentorSearchIndexTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private static final String[] WORDS = {
+            "java", "javascript", "python", "backend", "front-end", "data", "science", "go", "golang",
+            "kotlin", "spring", "react", "beginners", "juniors", "иван", "анна", "ml", "c++", "c#",
+            "node.js", "asp.net", ".net", "typescript"
+    };
+    private static final String[] QUERIES = {"node.js", "Node.JS backend", "c++", "C#", "c", ".NET", "asp.net", "net", "js"};
+    private static final String[] SPECIALIZATIONS = {
+            "Java Backend", "Python", "Data Science", "Frontend", "Go", "ML_Ops", "Node.js", "C++", "C#", ".NET", null
+    };
+    private static final String[] SPECIALIZATION_FILTERS = {"", "java", "SCIENCE", "o", "_", "ml_", "node.js", "c+", "#", ".net"};
+
+    private final Random random = new Random(42);
+
+    @Autowired
+    private MentorRepository mentorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MentorSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role();
+        role.setRoleName("ROLE_MENTOR");
+        entityManager.persist(role);
+
+        for (int i = 0; i < 150; i++) {
+            persistRandomMentor(role, i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Loaded the way InMemoryMentorSearch loads it
+        index = new MentorSearchIndex(mentorRepository.findCatalog(null, Sort.unsorted()));
+    }
+
+    @Test
+    void search_matchesDatabase() {
+        for (int i = 0; i < 300; i++) {
+            MentorSearchRequest request = randomRequest();
+            Sort sort = randomSort();
+
+            List<Integer> expected = mentorRepository.findCatalog(specificationOf(request), sort).stream()
+                    .map(MentorAllDataDto::mentorId)
+                    .toList();
+            List<Integer> actual = index.search(request, sort).stream()
+                    .map(MentorAllDataDto::mentorId)
+                    .toList();
+
+            assertEquals(expected, actual, () -> describe(request, sort));
+        }
+    }
+
+    // The index cannot rank by relevance, so with it enabled the service must still return ts_rank order
+    @Test
+    void relevanceSearch_withIndexEnabled_matchesDatabaseOrder() {
+        InMemoryMentorSearch inMemoryMentorSearch = new InMemoryMentorSearch(mentorRepository);
+        ReflectionTestUtils.setField(inMemoryMentorSearch, "enabled", true);
+        inMemoryMentorSearch.load();
+        DefaultGuestMentorshipService service = new DefaultGuestMentorshipService(mentorRepository,
+                inMemoryMentorSearch, new MentorCatalogCache(new SimpleMeterRegistry(), new ObjectMapper(), 100,
+                Duration.ofMinutes(1)), transactionManager, new ObjectMapper());
+
+        for (int i = 0; i < 100; i++) {
+            MentorSearchRequest request = randomRequest();
+            request.setQuery(pick(QUERIES));
+            request.setSortBy(MentorSortKey.RELEVANCE.getValue());
+            Sort sort = MentorSortKey.RELEVANCE.toSort(Sort.Direction.DESC);
+
+            List<Integer> expected = mentorRepository.findCatalog(specificationOf(request)
+                            .and(MentorSpecifications.orderedByRelevance(request.getQuery())), sort).stream()
+                    .map(MentorAllDataDto::mentorId).toList();
+            List<Integer> actual = service.searchMentors(request).getBody().stream()
+                    .map(MentorAllDataDto::mentorId).toList();
+
+            assertEquals(expected, actual, () -> describe(request, sort));
+        }
+    }
+
+    @Test
+    void facets_matchDatabase() {
+        for (int i = 0; i < 100; i++) {
+            MentorSearchRequest request = randomRequest();
+
+            MentorFacetsDto expected = MentorSearchIndex.facetsOf(
+                    mentorRepository.findCatalog(specificationOf(request), Sort.unsorted()));
+
+            assertEquals(expected, index.facets(request), () -> describe(request, Sort.unsorted()));
+        }
+    }
+
+    // Same filters as DefaultGuestMentorshipService applies on the database path
+    private static Specification<Mentor> specificationOf(MentorSearchRequest request) {
+        return MentorSpecifications.matchesGeneralQuery(request.getQuery())
+                .and(MentorSpecifications.hasSpecialization(request.getSpecialization()))
+                .and(MentorSpecifications.hasPriceRange(request.getMinRate(), request.getMaxRate()))
+                .and(MentorSpecifications.hasMinExperience(request.getMinExperience()))
+                .and(MentorSpecifications.hasMinRating(request.getMinRating()));
+    }
+
+    private void persistRandomMentor(Role role, int number) {
+        User user = new User();
+        user.setRole(role);
+        user.setEmail("mentor" + number + "@example.com");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+
+        // The profile goes first, the mentor trigger reads it to build the search document
+        Profile profile = new Profile();
+        profile.setUser(user);
+        profile.setFirstName(capitalize(pick(WORDS)));
+        profile.setLastName(capitalize(pick(WORDS)));
+        profile.setBio(text(random.nextInt(8)));
+        profile.setAge(20 + random.nextInt(40));
+        profile.setProfilePictureUrl("https://example.com/" + number + ".png");
+        entityManager.persist(profile);
+        entityManager.flush();
+
+        Mentor mentor = new Mentor();
+        mentor.setUser(user);
+        mentor.setSpecialization(pick(SPECIALIZATIONS));
+        mentor.setHourlyRate(random.nextInt(10) == 0 ? null : money(random.nextInt(15000)));
+        mentor.setExperienceYears(random.nextInt(10) == 0 ? null : random.nextInt(25));
+        mentor.setAverageRating(random.nextInt(10) == 0 ? null : money(random.nextInt(501)));
+        mentor.setMentorTargetStudents(random.nextInt(5) == 0 ? null : text(random.nextInt(4)));
+        entityManager.persist(mentor);
+    }
+
+    private MentorSearchRequest randomRequest() {
+        MentorSearchRequest request = new MentorSearchRequest();
+        if (random.nextBoolean()) {
+            // Whole words, prefixes, several words, terms with symbols and punctuation-only input
+            String word = pick(WORDS);
+            request.setQuery(switch (random.nextInt(5)) {
+                case 0 -> word;
+                case 1 -> word.substring(0, 1 + random.nextInt(word.length()));
+                case 2 -> word.toUpperCase() + " " + pick(WORDS).substring(0, 1);
+                case 3 -> pick(QUERIES);
+                default -> "  - ";
+            });
+        }
+        if (random.nextInt(4) == 0) {
+            request.setSpecialization(pick(SPECIALIZATION_FILTERS));
+        }
+        if (random.nextInt(3) == 0) {
+            request.setMinRate(money(random.nextInt(12000)));
+        }
+        if (random.nextInt(3) == 0) {
+            request.setMaxRate(random.nextBoolean() ? money(random.nextInt(15000)) : new BigDecimal("49.999"));
+        }
+        if (random.nextInt(3) == 0) {
+            request.setMinExperience(random.nextInt(25));
+        }
+        if (random.nextInt(3) == 0) {
+            request.setMinRating(random.nextBoolean() ? money(random.nextInt(501)) : new BigDecimal("4.001"));
+        }
+        return request;
+    }
+
+    // The sorts the service passes down: every indexed sort key in either direction, or the paging id order
+    private Sort randomSort() {
+        MentorSortKey[] keys = Stream.of(MentorSortKey.values())
+                .filter(key -> key != MentorSortKey.RELEVANCE && key != MentorSortKey.RANKING)
+                .toArray(MentorSortKey[]::new);
+        if (random.nextInt(5) == 0) {
+            return Sort.by("id");
+        }
+        return pick(keys).toSort(random.nextBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC);
+    }
+
+    private String text(int wordCount) {
+        return Stream.generate(() -> pick(WORDS)).limit(wordCount).collect(Collectors.joining(random.nextBoolean() ? " " : ", "));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static BigDecimal money(int hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String describe(MentorSearchRequest request, Sort sort) {
+        return "query=" + request.getQuery() + ", specialization=" + request.getSpecialization()
+                + ", rate=" + request.getMinRate() + ".." + request.getMaxRate()
+                + ", minExperience=" + request.getMinExperience() + ", minRating=" + request.getMinRating()
+                + ", sort=" + sort;
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.mentorship.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.mentorship.cache.ProfileSummaryCache;
+import org.example.mentorship.dto.ChatMessageDto;
+import org.example.mentorship.dto.ProfileSummaryDto;
+import org.example.mentorship.dto.WebSocketMessageDto;
+import org.example.mentorship.entity.Chat;
+import org.example.mentorship.entity.ChatMessage;
+import org.example.mentorship.entity.ChatSummary;
+import org.example.mentorship.entity.Mentor;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.Student;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.event.ChatMessageCommittedEvent;
+import org.example.mentorship.security.AuthenticatedUser;
+import org.example.mentorship.security.CurrentUserProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+// Runs against an in-memory H2 schema generated from the entities (migrations are PostgreSQL-only)
+@DataJpaTest
+@Import(DefaultChatService.class)
+@RecordApplicationEvents
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "spring.jpa.show-sql=false"
+})
+class DefaultChatServiceTest {
+
+    private static final int MESSAGE_COUNT = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private DefaultChatService chatService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @MockitoBean
+    private CurrentUserProvider currentUserProvider;
+
+    @MockitoBean
+    private ProfileSummaryCache profileSummaryCache;
+
+    private Statistics statistics;
+    private User studentUser;
+    private User mentorUser;
+    private Chat chat;
+
+    @BeforeEach
+    void setUp() {
+        studentUser = persistUser("student@example.com", "ROLE_STUDENT");
+        mentorUser = persistUser("mentor@example.com", "ROLE_MENTOR");
+
+        Student student = new Student();
+        student.setUser(studentUser);
+        entityManager.persist(student);
+
+        Mentor mentor = new Mentor();
+        mentor.setUser(mentorUser);
+        mentor.setSpecialization("Java");
+        mentor.setHourlyRate(BigDecimal.valueOf(20));
+        mentor.setExperienceYears(3);
+        mentor.setMentorTargetStudents("Beginners");
+        entityManager.persist(mentor);
+
+        chat = new Chat();
+        chat.setStudent(student);
+        chat.setMentor(mentor);
+        entityManager.persist(chat);
+
+        when(currentUserProvider.getCurrentPrincipal()).thenReturn(Optional.of(AuthenticatedUser.of(studentUser)));
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void markMessagesAsReadUsesConstantStatementsForLargeChat() {
+        ChatMessage newest = null;
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            newest = persistMessage(mentorUser, START.plusSeconds(i));
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        // Highest id but older than the rest, as with ids drawn from another instance's sequence block
+        persistMessage(mentorUser, START.minusDays(1));
+        persistMessage(studentUser, START.plusDays(1));
+        // One more increment than there are unread messages, as if a send committed concurrently
+        persistSummary(MESSAGE_COUNT + 2);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        chatService.markMessagesAsRead(chat.getId());
+
+        // chat, its student, the watermark, the bulk update and the summary update - independent of chat size
+        assertEquals(5, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        assertEquals(0L, entityManager.createQuery(
+                "SELECT COUNT(m) FROM ChatMessage m WHERE m.sender.id = :mentorUserId AND m.read = false", Long.class)
+                .setParameter("mentorUserId", mentorUser.getId())
+                .getSingleResult());
+        assertEquals(1, entityManager.find(ChatSummary.class, chat.getId()).getStudentUnreadCount());
+
+        List<ChatMessageCommittedEvent> published = events.stream(ChatMessageCommittedEvent.class).toList();
+        assertEquals(1, published.size());
+        WebSocketMessageDto readEvent = published.get(0).message();
+        assertEquals("READ", readEvent.type());
+        assertEquals(newest.getId(), readEvent.messageId());
+        assertEquals(newest.getSentAt(), readEvent.sentAt());
+        assertTrue(published.get(0).recipients().isEmpty());
+    }
+
+    @Test
+    void markMessagesAsReadSkipsNotificationWhenNothingWasUnread() {
+        persistMessage(studentUser, START);
+        persistSummary(0);
+        entityManager.flush();
+        entityManager.clear();
+
+        chatService.markMessagesAsRead(chat.getId());
+
+        assertEquals(0, events.stream(ChatMessageCommittedEvent.class).count());
+        assertEquals(0, entityManager.find(ChatSummary.class, chat.getId()).getStudentUnreadCount());
+    }
+
+    @Test
+    void getChatMessagesRejectsCursorOutsideChat() {
+        ChatMessage first = persistMessage(mentorUser, START);
+        ChatMessage second = persistMessage(mentorUser, START.plusSeconds(1));
+
+        User otherMentorUser = persistUser("other-mentor@example.com", "ROLE_OTHER_MENTOR");
+        Mentor otherMentor = new Mentor();
+        otherMentor.setUser(otherMentorUser);
+        entityManager.persist(otherMentor);
+        Chat otherChat = new Chat();
+        otherChat.setStudent(chat.getStudent());
+        otherChat.setMentor(otherMentor);
+        entityManager.persist(otherChat);
+        ChatMessage foreign = new ChatMessage();
+        foreign.setChat(otherChat);
+        foreign.setSender(otherMentorUser);
+        foreign.setContent("message");
+        foreign.setSentAt(START);
+        entityManager.persist(foreign);
+        entityManager.flush();
+        entityManager.clear();
+        when(profileSummaryCache.get(mentorUser.getId()))
+                .thenReturn(new ProfileSummaryDto(mentorUser.getId(), "Mentor", "https://example.com/mentor.png"));
+
+        assertEquals(List.of(first.getId()), chatService.getChatMessages(chat.getId(), second.getId(), null, null)
+                .stream().map(ChatMessageDto::messageId).toList());
+        assertThrows(IllegalArgumentException.class,
+                () -> chatService.getChatMessages(chat.getId(), foreign.getId(), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> chatService.getChatMessages(chat.getId(), null, Integer.MAX_VALUE, null));
+    }
+
+    private User persistUser(String email, String roleName) {
+        Role role = new Role();
+        role.setRoleName(roleName);
+        entityManager.persist(role);
+
+        User user = new User();
+        user.setRole(role);
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private ChatMessage persistMessage(User sender, LocalDateTime sentAt) {
+        ChatMessage message = new ChatMessage();
+        message.setChat(entityManager.getReference(Chat.class, chat.getId()));
+        message.setSender(entityManager.getReference(User.class, sender.getId()));
+        message.setContent("message");
+        message.setSentAt(sentAt);
+        entityManager.persist(message);
+        return message;
+    }
+
+    private void persistSummary(int studentUnread) {
+        ChatSummary summary = new ChatSummary();
+        summary.setChatId(chat.getId());
+        summary.setStudentUnreadCount(studentUnread);
+        entityManager.persist(summary);
+    }
+}
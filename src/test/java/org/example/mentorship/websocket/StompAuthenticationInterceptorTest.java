@@ -0,0 +1,95 @@
+package org.example.mentorship.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.mentorship.entity.Role;
+import org.example.mentorship.entity.User;
+import org.example.mentorship.security.AuthenticatedUserCache;
+import org.example.mentorship.security.CustomUserDetails;
+import org.example.mentorship.security.JwtAuthenticationMode;
+import org.example.mentorship.security.JwtAuthenticator;
+import org.example.mentorship.security.JwtTokenUtils;
+import org.example.mentorship.security.RevokedTokenRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StompAuthenticationInterceptorTest {
+
+    private static final int USER_ID = 1;
+
+    private final RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(Duration.ofHours(1));
+    private final Map<String, Object> sessionAttributes = new HashMap<>();
+
+    private StompAuthenticationInterceptor interceptor;
+    private Message<byte[]> send;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenUtils jwtTokenUtils = new JwtTokenUtils();
+        ReflectionTestUtils.setField(jwtTokenUtils, "secret",
+                Base64.getEncoder().encodeToString("test-secret-key-test-secret-key-test-secret".getBytes()));
+        ReflectionTestUtils.setField(jwtTokenUtils, "jwtLifetime", Duration.ofHours(1));
+        jwtTokenUtils.init();
+
+        Role role = new Role();
+        role.setRoleName("ROLE_STUDENT");
+        User user = new User();
+        user.setId(USER_ID);
+        user.setEmail("student@example.org");
+        user.setRole(role);
+        user.setEmailVerified(true);
+
+        JwtAuthenticator jwtAuthenticator = new JwtAuthenticator(jwtTokenUtils,
+                new AuthenticatedUserCache(null, new SimpleMeterRegistry(), 1, Duration.ofMinutes(1)),
+                revokedTokenRegistry, JwtAuthenticationMode.CLAIMS);
+        interceptor = new StompAuthenticationInterceptor(jwtTokenUtils, jwtAuthenticator, revokedTokenRegistry);
+
+        StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.setNativeHeader("Authorization", "Bearer " + jwtTokenUtils.generateToken(new CustomUserDetails(user)));
+        connect.setSessionAttributes(sessionAttributes);
+        connect.setLeaveMutable(true);
+        Message<byte[]> connected = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+        interceptor.preSend(connected, null);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setDestination("/app/chat.send");
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setUser(connect.getUser());
+        send = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    void sendWithLiveTokenPasses() {
+        assertNotNull(sessionAttributes.get(StompAuthenticationInterceptor.EXPIRES_AT_ATTRIBUTE));
+        assertSame(send, interceptor.preSend(send, null));
+    }
+
+    @Test
+    void sendAfterTokenExpiredIsRejected() {
+        sessionAttributes.put(StompAuthenticationInterceptor.EXPIRES_AT_ATTRIBUTE, new Date());
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(send, null));
+    }
+
+    @Test
+    void sendAfterTokenRevokedIsRejected() {
+        revokedTokenRegistry.revoke(USER_ID);
+
+        assertThrows(MessagingException.class, () -> interceptor.preSend(send, null));
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.mentorship.websocket;
+
+import org.example.mentorship.cache.ChatParticipantCache;
+import org.example.mentorship.dto.ChatParticipantsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TypingIndicatorCoalescerTest {
+
+    private static final int CHAT_ID = 7;
+    private static final int STUDENT_USER_ID = 1;
+    private static final int MENTOR_USER_ID = 2;
+
+    @Mock private ChatParticipantCache chatParticipantCache;
+    @Mock private SimpMessagingTemplate messagingTemplate;
+
+    private TypingIndicatorCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new TypingIndicatorCoalescer(chatParticipantCache, messagingTemplate, Duration.ofMinutes(1), 1000);
+        when(chatParticipantCache.get(CHAT_ID))
+                .thenReturn(Optional.of(new ChatParticipantsDto(CHAT_ID, STUDENT_USER_ID, MENTOR_USER_ID)));
+    }
+
+    @Test
+    void burstOfKeystrokesIsBroadcastOncePerUser() {
+        int broadcasts = 0;
+        for (int i = 0; i < 100; i++) {
+            broadcasts += coalescer.onTyping(CHAT_ID, STUDENT_USER_ID) ? 1 : 0;
+            broadcasts += coalescer.onTyping(CHAT_ID, MENTOR_USER_ID) ? 1 : 0;
+        }
+
+        assertEquals(2, broadcasts);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/chat/" + CHAT_ID), any(Object.class));
+    }
+
+    @Test
+    void outsiderIsRejectedWithoutBroadcast() {
+        assertThrows(RuntimeException.class, () -> coalescer.onTyping(CHAT_ID, 3));
+        verifyNoInteractions(messagingTemplate);
+    }
+}